@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.internal.http.HttpServerRequestInternal;
+import io.vertx.core.internal.http.HttpServerRequestWrapper;
+import io.vertx.core.net.HostAndPort;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * A request that can be handled by a router without a server. The methods used while routing are implemented without
+ * allocating, so the allocation measured by the GC profiler is the one of the router. Other methods are delegated to a
+ * stub returning default values.
+ * <p>
+ * The request is reusable, the same instance can be handled many times.
+ */
+public class FakeHttpServerRequest extends HttpServerRequestWrapper {
+
+  private static final HostAndPort LOCALHOST = HostAndPort.create("localhost", 8080);
+
+  private final HttpMethod method;
+  private final HostAndPort authority;
+  private final String uri;
+  private final String absoluteURI;
+  private final String path;
+  private final String query;
+  private final MultiMap headers = HttpHeaders.headers();
+  private final MultiMap params = HttpHeaders.headers();
+  private final HttpServerResponse response = FakeHttpServerResponse.create();
+
+  public FakeHttpServerRequest(HttpMethod method, String uri) {
+    this(method, LOCALHOST, uri);
+  }
+
+  /**
+   * A request sent to the given authority, e.g. to select the routes of a virtual host.
+   */
+  public FakeHttpServerRequest(HttpMethod method, HostAndPort authority, String uri) {
+    super(mock(HttpServerRequestInternal.class, withSettings().stubOnly()));
+    this.method = method;
+    this.authority = authority;
+    this.uri = uri;
+    this.absoluteURI = "http://" + authority + uri;
+    int idx = uri.indexOf('?');
+    this.path = idx == -1 ? uri : uri.substring(0, idx);
+    this.query = idx == -1 ? null : uri.substring(idx + 1);
+    headers.set(HttpHeaders.HOST, authority.toString());
+  }
+
+  /**
+   * Sets a request header.
+   */
+  public FakeHttpServerRequest header(CharSequence name, CharSequence value) {
+    headers.set(name, value);
+    return this;
+  }
+
+  @Override
+  public HttpMethod method() {
+    return method;
+  }
+
+  @Override
+  public String uri() {
+    return uri;
+  }
+
+  @Override
+  public String path() {
+    return path;
+  }
+
+  @Override
+  public String query() {
+    return query;
+  }
+
+  @Override
+  public String scheme() {
+    return "http";
+  }
+
+  @Override
+  public HostAndPort authority() {
+    return authority;
+  }
+
+  @Override
+  public String absoluteURI() {
+    return absoluteURI;
+  }
+
+  @Override
+  public boolean isValidAuthority() {
+    return true;
+  }
+
+  @Override
+  public boolean isSSL() {
+    return false;
+  }
+
+  @Override
+  public HttpVersion version() {
+    return HttpVersion.HTTP_1_1;
+  }
+
+  @Override
+  public MultiMap headers() {
+    return headers;
+  }
+
+  @Override
+  public String getHeader(String name) {
+    return headers.get(name);
+  }
+
+  @Override
+  public String getHeader(CharSequence name) {
+    return headers.get(name);
+  }
+
+  @Override
+  public MultiMap params() {
+    return params;
+  }
+
+  @Override
+  public String getParam(String name) {
+    return params.get(name);
+  }
+
+  @Override
+  public HttpServerResponse response() {
+    return response;
+  }
+}
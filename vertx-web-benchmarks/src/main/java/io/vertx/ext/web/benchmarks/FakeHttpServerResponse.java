@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * A response discarding everything written to it: fluent methods return the response, futures are succeeded and
+ * other methods return default values.
+ */
+final class FakeHttpServerResponse implements InvocationHandler {
+
+  private final MultiMap headers = HttpHeaders.headers();
+  private final MultiMap trailers = HttpHeaders.headers();
+
+  static HttpServerResponse create() {
+    return (HttpServerResponse) Proxy.newProxyInstance(
+      FakeHttpServerResponse.class.getClassLoader(),
+      new Class<?>[] { HttpServerResponse.class },
+      new FakeHttpServerResponse());
+  }
+
+  private FakeHttpServerResponse() {
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    final Class<?> type = method.getReturnType();
+    switch (method.getName()) {
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "equals":
+        return proxy == args[0];
+      case "toString":
+        return "FakeHttpServerResponse";
+      case "headers":
+        return headers;
+      case "trailers":
+        return trailers;
+      case "getStatusCode":
+        return 200;
+    }
+    if (type == HttpServerResponse.class) {
+      return proxy;
+    }
+    if (type == Future.class) {
+      return Future.succeededFuture();
+    }
+    if (type == boolean.class) {
+      return Boolean.FALSE;
+    }
+    if (type == int.class) {
+      return 0;
+    }
+    if (type == long.class) {
+      return 0L;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.*;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.ext.web.handler.FileSystemAccess;
+import io.vertx.ext.web.handler.SessionHandler;
+import io.vertx.ext.web.handler.StaticHandler;
+import io.vertx.ext.web.sstore.LocalSessionStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the round trip of requests sent to a server over the loopback interface, the server routes the requests
+ * to the handlers shipped with Vert.x Web. Unlike the other benchmarks, this includes the cost of the network and of
+ * the HTTP codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoopbackBenchmark {
+
+  private Vertx vertx;
+  private HttpServer server;
+  private HttpClient client;
+  private Path webRoot;
+  private Buffer json;
+  private String sessionCookie;
+
+  @Setup
+  public void setup() throws IOException {
+    vertx = Vertx.vertx();
+
+    webRoot = Files.createTempDirectory("vertx-web-benchmarks");
+    Files.write(webRoot.resolve("index.html"), new byte[4096]);
+    JsonObject body = new JsonObject();
+    for (int i = 0; i < 32; i++) {
+      body.put("field" + i, "value" + i);
+    }
+    json = body.toBuffer();
+
+    Router router = Router.router(vertx);
+    router.get("/api/users/:id").handler(ctx -> ctx.response().end(ctx.pathParam("id")));
+    router.post("/api/users").handler(BodyHandler.create(false)).handler(ctx -> ctx.response().end(ctx.body().buffer()));
+    router.route("/session/*").handler(SessionHandler.create(LocalSessionStore.create(vertx)));
+    router.get("/session/counter").handler(ctx -> {
+      Integer counter = ctx.session().get("counter");
+      counter = counter == null ? 1 : counter + 1;
+      ctx.session().put("counter", counter);
+      ctx.response().end(String.valueOf(counter));
+    });
+    router.route("/static/*").handler(StaticHandler.create(FileSystemAccess.ROOT, webRoot.toString()));
+
+    server = vertx.createHttpServer()
+      .requestHandler(router)
+      .listen(0, "localhost")
+      .await();
+    client = vertx.createHttpClient(new HttpClientOptions()
+      .setDefaultHost("localhost")
+      .setDefaultPort(server.actualPort()));
+
+    sessionCookie = client.request(HttpMethod.GET, "/session/counter")
+      .compose(HttpClientRequest::send)
+      .await()
+      .getHeader(HttpHeaders.SET_COOKIE);
+    // keep the name and value only
+    sessionCookie = sessionCookie.substring(0, sessionCookie.indexOf(';'));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    vertx.close().await();
+    try (Stream<Path> files = Files.walk(webRoot)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public Buffer route() {
+    return client.request(HttpMethod.GET, "/api/users/42")
+      .compose(HttpClientRequest::send)
+      .compose(HttpClientResponse::body)
+      .await();
+  }
+
+  @Benchmark
+  public Buffer body() {
+    return client.request(HttpMethod.POST, "/api/users")
+      .compose(req -> req
+        .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+        .send(json))
+      .compose(HttpClientResponse::body)
+      .await();
+  }
+
+  @Benchmark
+  public Buffer session() {
+    return client.request(HttpMethod.GET, "/session/counter")
+      .compose(req -> req
+        .putHeader(HttpHeaders.COOKIE, sessionCookie)
+        .send())
+      .compose(HttpClientResponse::body)
+      .await();
+  }
+
+  @Benchmark
+  public Buffer staticFile() {
+    return client.request(HttpMethod.GET, "/static/index.html")
+      .compose(HttpClientRequest::send)
+      .compose(HttpClientResponse::body)
+      .await();
+  }
+}
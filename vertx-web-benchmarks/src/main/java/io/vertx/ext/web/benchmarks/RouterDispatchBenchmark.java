@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.net.HostAndPort;
+import io.vertx.ext.web.RouteMatching;
+import io.vertx.ext.web.Router;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dispatch of requests by a router, each request matches the last routes of the router. Run with the GC
+ * profiler to measure the allocation per request: {@code java -jar target/benchmarks.jar RouterDispatch -prof gc}.
+ * <p>
+ * The iteration of the routes does not allocate, but the {@code INDEXED} route matching and the routes with a virtual
+ * host select the candidate routes of each request in a new array, which the profiler shows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterDispatchBenchmark {
+
+  @Param({ "10", "100", "1000" })
+  public int routes;
+
+  @Param({ "LINEAR", "INDEXED" })
+  public RouteMatching routeMatching;
+
+  private Vertx vertx;
+  private Router router;
+  // the virtual hosts have a router of their own, its host index would select the routes of the other benchmarks
+  private Router virtualHostRouter;
+  private FakeHttpServerRequest paramRequest;
+  private FakeHttpServerRequest staticRequest;
+  private FakeHttpServerRequest negotiatedRequest;
+  private FakeHttpServerRequest subRouterRequest;
+  private FakeHttpServerRequest virtualHostRequest;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    router = Router.router(vertx).routeMatching(routeMatching);
+    Router subRouter = Router.router(vertx).routeMatching(routeMatching);
+    virtualHostRouter = Router.router(vertx).routeMatching(routeMatching);
+    router.route("/sub/*").subRouter(subRouter);
+    for (int i = 0; i < routes; i++) {
+      router.get("/api/resource" + i + "/:id").handler(ctx -> ctx.response().end());
+      router.post("/api/resource" + i).handler(ctx -> ctx.response().end());
+      router.get("/static/resource" + i).handler(ctx -> ctx.response().end());
+      router.put("/negotiated/resource" + i)
+        .consumes("application/json")
+        .produces("application/json")
+        .produces("text/html")
+        .handler(ctx -> ctx.response().end());
+      subRouter.get("/resource" + i + "/:id").handler(ctx -> ctx.response().end());
+      virtualHostRouter.get("/tenant/resource").virtualHost("tenant" + i + ".example.com").handler(ctx -> ctx.response().end());
+    }
+    final int last = routes - 1;
+    paramRequest = new FakeHttpServerRequest(HttpMethod.GET, "/api/resource" + last + "/42");
+    staticRequest = new FakeHttpServerRequest(HttpMethod.GET, "/static/resource" + last);
+    negotiatedRequest = new FakeHttpServerRequest(HttpMethod.PUT, "/negotiated/resource" + last)
+      .header(HttpHeaders.CONTENT_TYPE, "application/json; charset=utf-8")
+      .header(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+    subRouterRequest = new FakeHttpServerRequest(HttpMethod.GET, "/sub/resource" + last + "/42");
+    virtualHostRequest = new FakeHttpServerRequest(HttpMethod.GET, HostAndPort.create("tenant" + last + ".example.com", 8080), "/tenant/resource");
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public void dispatch() {
+    router.handle(paramRequest);
+  }
+
+  @Benchmark
+  public void dispatchStatic() {
+    router.handle(staticRequest);
+  }
+
+  @Benchmark
+  public void dispatchNegotiated() {
+    router.handle(negotiatedRequest);
+  }
+
+  @Benchmark
+  public void dispatchSubRouter() {
+    router.handle(subRouterRequest);
+  }
+
+  @Benchmark
+  public void dispatchVirtualHost() {
+    virtualHostRouter.handle(virtualHostRequest);
+  }
+}
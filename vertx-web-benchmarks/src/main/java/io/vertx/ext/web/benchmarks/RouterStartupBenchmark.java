@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.benchmarks;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time needed to build a router with many routes, e.g. from a large OpenAPI contract, with the routes
+ * added one by one or in a single {@link Router#batch(Handler)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterStartupBenchmark {
+
+  private static final HttpMethod[] METHODS = { HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE };
+
+  @Param({ "1000", "10000" })
+  public int routes;
+
+  @Param({ "false", "true" })
+  public boolean batch;
+
+  private Vertx vertx;
+  private final Handler<RoutingContext> handler = RoutingContext::end;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public Router build() {
+    Router router = Router.router(vertx);
+    if (batch) {
+      router.batch(this::addRoutes);
+    } else {
+      addRoutes(router);
+    }
+    return router;
+  }
+
+  private void addRoutes(Router router) {
+    for (int i = 0; i < routes; i++) {
+      router
+        .route(METHODS[i % METHODS.length], "/api/resource" + (i / METHODS.length) + "/:id")
+        .handler(handler);
+    }
+  }
+}
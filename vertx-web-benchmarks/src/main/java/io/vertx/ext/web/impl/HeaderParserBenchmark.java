@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.ext.web.MIMEHeader;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the parsing of an {@code Accept} header with the lookup of its parsed value in the parsed header cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderParserBenchmark {
+
+  @Param({
+    "application/json",
+    "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8"
+  })
+  public String accept;
+
+  @Benchmark
+  public List<MIMEHeader> parse() {
+    // same as RoutingContextImpl before the parsed header cache
+    List<MIMEHeader> values = HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(accept, ParsableMIMEValue::new));
+    for (MIMEHeader value : values) {
+      ((ParsableMIMEValue) value).forceParse();
+    }
+    return values;
+  }
+
+  @Benchmark
+  public List<MIMEHeader> cached() {
+    return ParsedHeaderCache.ACCEPT.get(accept);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Router;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the extraction of path parameters with the regular expression of a route and with its path template.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathParamsBenchmark {
+
+  @Param({ "/users/:id", "/users/:id/orders/:orderId", "/api/:version/users/:id/*" })
+  public String route;
+
+  private Vertx vertx;
+  private String path;
+  private Pattern pattern;
+  private List<String> groups;
+  private PathTemplate template;
+
+  @Setup
+  public void setup() {
+    vertx = Vertx.vertx();
+    RouteState state = ((RouteImpl) Router.router(vertx).route(route)).state();
+    pattern = state.getPattern();
+    groups = state.getGroups();
+    template = state.getPathTemplate();
+    path = route
+      .replace(":version", "v1")
+      .replace(":orderId", "1234")
+      .replace(":id", "42")
+      .replace("*", "rest/of/the/path");
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  @Benchmark
+  public void regex(Blackhole blackhole) {
+    // same as RouteState before path templates
+    Matcher m = pattern.matcher(path);
+    if (m.matches()) {
+      for (int i = 0; i < groups.size(); i++) {
+        String value;
+        try {
+          value = m.group("p" + i);
+        } catch (IllegalArgumentException e) {
+          value = m.group(i + 1);
+        }
+        blackhole.consume(value);
+      }
+    }
+  }
+
+  @Benchmark
+  public void segments(Blackhole blackhole) {
+    if (template.match(path, 0) != -1) {
+      int offset = 0;
+      for (int i = 0; i < groups.size(); i++) {
+        int start = template.paramStart(offset, i);
+        offset = PathTemplate.segmentEnd(path, start);
+        blackhole.consume(path.substring(start, offset));
+      }
+    }
+  }
+}
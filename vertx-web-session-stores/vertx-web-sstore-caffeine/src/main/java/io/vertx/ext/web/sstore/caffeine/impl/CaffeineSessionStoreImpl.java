@@ -107,6 +107,17 @@ public class CaffeineSessionStoreImpl implements SessionStore, CaffeineSessionSt
     return ctx.succeededFuture();
   }
 
+  @Override
+  public Future<Void> touch(Session session) {
+    // reading the session renews its expiry
+    if (localCaffeineCache.getIfPresent(session.id()) != session) {
+      // the session expired, or was replaced by another instance
+      return put(session);
+    }
+    final ContextInternal ctx = vertx.getOrCreateContext();
+    return ctx.succeededFuture();
+  }
+
   @Override
   public Future<Void> clear() {
     final ContextInternal ctx = vertx.getOrCreateContext();
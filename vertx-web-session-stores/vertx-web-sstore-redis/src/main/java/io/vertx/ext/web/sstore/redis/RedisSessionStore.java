@@ -25,6 +25,8 @@ import io.vertx.redis.client.Redis;
  * A SessionStore that uses a Redis to store the sessions and associated data.
  * This assumes that the redis logical database (i.e. select) is only used
  * to store the sessions to make size query reliable.
+ * <p>
+ * The expiry of a session is renewed each time the session is loaded, even when it is not stored back afterwards.
  *
  * @author <a href="https://github.com/llfbandit">Rémy Noël</a>
  */
@@ -87,10 +87,14 @@ public class RedisSessionStoreImpl implements RedisSessionStore {
         if (response != null) {
           SharedDataSessionImpl session = new SharedDataSessionImpl(random);
           session.readFromBuffer(0, response.toBuffer());
-          // postpone expiration time, this cannot be done in a single frame with GET cmd
+          // postpone expiration time, this cannot be done in a single frame with GET cmd. The session is renewed even
+          // when the handler does not store or touch it, e.g. a lazy session that is not used or an error response
           return redis
             .send(cmd(PEXPIRE).arg(id).arg(session.timeout()))
-            .map(session);
+            .map(v -> {
+              session.setRenewedOnLoad(System.currentTimeMillis());
+              return session;
+            });
         } else {
           return ctx.succeededFuture();
         }
@@ -123,6 +127,19 @@ public class RedisSessionStoreImpl implements RedisSessionStore {
     });
   }
 
+  @Override
+  public Future<Void> touch(Session session) {
+    // only the expiration time is postponed, the data is not written again
+    return redis.send(cmd(PEXPIRE).arg(session.id()).arg(session.timeout()))
+      .compose(response -> {
+        if (response == null || response.toInteger() == 0) {
+          // the session expired meanwhile
+          return put(session);
+        }
+        return ctx.succeededFuture();
+      });
+  }
+
   private Future<Void> writeSession(Session session) {
     Buffer buffer = Buffer.buffer();
     SharedDataSessionImpl sessionImpl = (SharedDataSessionImpl) session;
@@ -2,6 +2,12 @@ package io.vertx.ext.web.sstore.redis.tests;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.handler.SessionHandler;
 import io.vertx.ext.web.sstore.redis.RedisSessionStore;
 import io.vertx.junit5.VertxTest;
 import io.vertx.redis.client.Redis;
@@ -12,6 +18,11 @@ import io.vertx.ext.web.Session;
 import io.vertx.ext.web.sstore.SessionStore;
 import org.testcontainers.containers.GenericContainer;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.vertx.redis.client.Command.*;
+import static io.vertx.redis.client.Request.cmd;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -34,16 +45,16 @@ public class RedisSessionStoreTest {
     container.stop();
   }
 
+  private Redis redis;
   private SessionStore store;
 
   @BeforeEach
   public void before(Vertx vertx) {
-    store = RedisSessionStore.create(
-      vertx,
-      Redis.createClient(vertx, new RedisOptions()
-        .setConnectionString("redis://" + container.getHost() + ":" + container.getMappedPort(6379))
-        .setMaxPoolSize(2)
-        .setMaxPoolWaiting(32)));
+    redis = Redis.createClient(vertx, new RedisOptions()
+      .setConnectionString("redis://" + container.getHost() + ":" + container.getMappedPort(6379))
+      .setMaxPoolSize(2)
+      .setMaxPoolWaiting(32));
+    store = RedisSessionStore.create(vertx, redis);
   }
 
   @AfterEach
@@ -67,6 +78,93 @@ public class RedisSessionStoreTest {
     assertEquals(value, sessionGet.value());
   }
 
+  @Test
+  public void testGetRenewsSession() {
+    Session session = store.createSession(30_000);
+    String value = session.value();
+    store.put(session).await();
+    // as if the session was stored 25 seconds ago
+    redis.send(cmd(PEXPIRE).arg(value).arg(5_000)).await();
+
+    // loading the session postpones its expiration time, even if it is neither stored nor touched afterwards
+    store.get(value).await();
+    assertTrue(redis.send(cmd(PTTL).arg(value)).await().toLong() > 5_000);
+  }
+
+  @Test
+  public void testSessionHandlerRenewsOnce(Vertx vertx) {
+    SessionHandler sessionHandler = SessionHandler.create(store);
+    Router router = Router.router(vertx);
+    router.route().handler(sessionHandler);
+    router.route().handler(ctx -> {
+      String foo = ctx.request().getParam("foo");
+      if (foo != null) {
+        ctx.session().put("foo", foo);
+      } else {
+        ctx.session().get("foo");
+      }
+      // the session is flushed before the response is sent
+      sessionHandler.flush(ctx).onComplete(ar -> ctx.end());
+    });
+    HttpServer server = vertx.createHttpServer().requestHandler(router).listen(0, "localhost").await();
+    HttpClient client = vertx.createHttpClient();
+    try {
+      String cookie = send(client, server.actualPort(), "/?foo=bar", null).getHeader("set-cookie");
+      assertNotNull(cookie);
+
+      redis.send(cmd(CONFIG).arg("RESETSTAT")).await();
+      // the data did not change, the session is only renewed when it is loaded
+      send(client, server.actualPort(), "/", cookie.substring(0, cookie.indexOf(';')));
+      assertEquals(1, calls("get"));
+      assertEquals(1, calls("pexpire"));
+      assertEquals(0, calls("set"));
+    } finally {
+      client.close().await();
+      server.close().await();
+    }
+  }
+
+  private static HttpClientResponse send(HttpClient client, int port, String uri, String cookie) {
+    HttpClientResponse response = client.request(HttpMethod.GET, port, "localhost", uri)
+      .compose(req -> {
+        if (cookie != null) {
+          req.putHeader("cookie", cookie);
+        }
+        return req.send();
+      })
+      .await();
+    assertEquals(200, response.statusCode());
+    response.body().await();
+    return response;
+  }
+
+  /**
+   * @return the number of calls of a command since the statistics of the server were reset
+   */
+  private long calls(String command) {
+    String stats = redis.send(cmd(INFO).arg("commandstats")).await().toString();
+    Matcher matcher = Pattern.compile("cmdstat_" + command + ":calls=(\\d+)").matcher(stats);
+    return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+  }
+
+  @Test
+  public void testTouchSession() {
+    Session session = store.createSession(30_000);
+    String value = session.value();
+    store.put(session).await();
+    Session sessionGet = store.get(value).await();
+    // as if the session was renewed 25 seconds ago
+    redis.send(cmd(PEXPIRE).arg(value).arg(5_000)).await();
+
+    store.touch(sessionGet).await();
+    assertTrue(redis.send(cmd(PTTL).arg(value)).await().toLong() > 5_000);
+
+    // an expired session is stored again
+    redis.send(cmd(DEL).arg(value)).await();
+    store.touch(sessionGet).await();
+    assertEquals(value, store.get(value).await().value());
+  }
+
   @Test
   public void testClearSession() {
     Session session = store.createSession(30_000);
@@ -708,6 +708,26 @@ public class WebExamples {
     router.route().handler(BodyHandler.create().setDeleteUploadedFilesOnEnd(true));
   }
 
+  public void routeBodyLimit(Router router) {
+
+    BodyHandler bodyHandler = BodyHandler.create().setBodyLimit(100 * 1024);
+
+    // the limit is read from the route that carries the body handler,
+    // so this route comes before the route of all the other requests
+    router.post("/some/path/uploads")
+      .putMetadata(BodyHandler.BODY_LIMIT_METADATA, 1024 * 1024 * 1024)
+      .handler(bodyHandler);
+
+    router.route().handler(bodyHandler);
+
+    router.post("/some/path/uploads").handler(ctx -> {
+
+      List<FileUpload> uploads = ctx.fileUploads();
+      // Do something with uploads....
+
+    });
+  }
+
   public void example30(RoutingContext ctx) {
 
     Cookie someCookie = ctx.request().getCookie("mycookie");
@@ -1979,6 +1999,23 @@ public class WebExamples {
       });
   }
 
+  public void example92(Vertx vertx) {
+    Router router = Router.router(vertx)
+      // only evaluate the routes that can match the request path
+      .routeMatching(RouteMatching.INDEXED);
+
+    router.get("/users/:id").handler(ctx -> ctx.end("user"));
+    router.get("/orders/:id").handler(ctx -> ctx.end("order"));
+  }
+
+  public void example93(Router router, List<String> paths) {
+    router.batch(r -> {
+      for (String path : paths) {
+        r.get(path).handler(ctx -> ctx.end(path));
+      }
+    });
+  }
+
   public void example88(Router router) {
     router.route()
       .handler(SecurityAuditLoggerHandler.create());
@@ -16,8 +16,10 @@
 
 package io.vertx.ext.web;
 
+import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 
 /**
  * Represents a file-upload from an HTTP multipart form submission.
@@ -34,9 +36,10 @@ public interface FileUpload {
   String name();
 
   /**
-   * @return the actual temporary file name on the server where the file was uploaded to.
+   * @return the actual temporary file name on the server where the file was uploaded to, or {@code null} if the upload
+   * was kept in memory or written to an upload sink of the {@link io.vertx.ext.web.handler.BodyHandler}.
    */
-  String uploadedFileName();
+  @Nullable String uploadedFileName();
 
   /**
    * @return the file name of the upload as provided in the form submission
@@ -63,6 +66,15 @@ public interface FileUpload {
    */
   String charSet();
 
+  /**
+   * @return the content of an upload kept in memory, or {@code null} if the upload was written to a file or to an upload
+   * sink
+   * @see io.vertx.ext.web.handler.BodyHandler#setInMemoryUploadThreshold(long)
+   */
+  default @Nullable Buffer content() {
+    return null;
+  }
+
   /**
    * Try to cancel the file upload.
    *
@@ -71,7 +83,7 @@ public interface FileUpload {
   boolean cancel();
 
   /**
-   * Delete the uploaded file on the disk.
+   * Delete the uploaded file on the disk, or release the content of an upload kept in memory.
    *
    * @return a future signaling when the file has been deleted
    */
@@ -5,6 +5,9 @@ import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+
+import java.util.List;
 
 @VertxGen
 public interface RequestBody {
@@ -89,6 +92,26 @@ public interface RequestBody {
    */
   @Nullable Buffer buffer();
 
+  /**
+   * Get the request body as the chunks it was received in, without copying them, e.g. to write them to a file or to
+   * send them on the event bus. The chunks are kept when
+   * {@link io.vertx.ext.web.handler.BodyHandler#setCompositeBodyBuffer(boolean)} is enabled, otherwise the body is a
+   * single chunk.
+   *
+   * @return the chunks of the body, or {@code null} when there is no body buffer
+   */
+  @Nullable List<Buffer> chunks();
+
+  /**
+   * Get the request body as a stream, when {@link io.vertx.ext.web.handler.BodyHandler#setStreamBody(boolean)} is
+   * enabled. The stream is paused, it must be read by the handler, e.g. piped to a file or to a client request. The
+   * body limit is enforced while the stream is read, the stream fails with a {@code 413} status
+   * {@link io.vertx.ext.web.handler.HttpException} when the body is too large.
+   *
+   * @return the body stream, or {@code null} when the body is not streamed
+   */
+  @Nullable ReadStream<Buffer> stream();
+
   /**
    * @return Get the entire HTTP request body as a POJO. The context must have first been routed to a
    * {@link io.vertx.ext.web.handler.BodyHandler} for this to be populated.
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * How a {@link Router} selects the routes to evaluate for a request.
+ */
+@VertxGen
+public enum RouteMatching {
+
+  /**
+   * Every route is evaluated in order until one matches. This is the default.
+   */
+  LINEAR,
+
+  /**
+   * Routes declared with a path are indexed by their path segments, so only the routes that can match the request
+   * path are evaluated. Routes declared with a regular expression, without a path or not using the normalized path
+   * are always evaluated. The route order is preserved.
+   * <p>
+   * This is useful for routers with a large number of routes.
+   */
+  INDEXED
+}
@@ -351,6 +351,21 @@ public interface Router extends Handler<HttpServerRequest> {
    */
   List<Route> getRoutes();
 
+  /**
+   * Registers routes in bulk. The routes added to this router by the {@code handler} are not visible to requests until
+   * the handler returns, they are then published at once and the {@link #modifiedHandler(Handler) modified handler} is
+   * called a single time. This is much faster than adding the routes one by one when a router has thousands of
+   * routes, e.g. a router built from a large OpenAPI contract.
+   * <p>
+   * Only the routes added by the thread running the handler are part of the batch, the routes added by other threads
+   * meanwhile are published as usual. If the handler fails, the routes added before the failure are published.
+   *
+   * @param handler the handler adding the routes
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Router batch(Handler<Router> handler);
+
   /**
    * Remove all the routes from this router
    *
@@ -417,4 +432,16 @@ public interface Router extends Handler<HttpServerRequest> {
    */
   @Fluent
   Router allowForward(AllowForwardHeaders allowForwardHeaders);
+
+  /**
+   * Set how the router selects the routes to evaluate for a request. By default, all routes are evaluated in order,
+   * large routers can index the routes by path with {@link RouteMatching#INDEXED}.
+   * <p>
+   * The setting only applies to this router, mounted sub routers keep their own setting.
+   *
+   * @param routeMatching the route matching strategy
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  Router routeMatching(RouteMatching routeMatching);
 }
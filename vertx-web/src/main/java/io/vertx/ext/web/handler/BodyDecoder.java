@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.handler.impl.ZlibBodyDecoder;
+
+/**
+ * Decodes a request body sent with a {@code Content-Encoding}, as it is received by the {@link BodyHandler}.
+ * <p>
+ * A decoder is created for each request, it does not need to be thread-safe. A decoder fails by throwing an exception,
+ * the request is then rejected with a {@code 400} status.
+ */
+public interface BodyDecoder {
+
+  /**
+   * @return a decoder of the {@code gzip} content encoding
+   */
+  static BodyDecoder gzip() {
+    return new ZlibBodyDecoder(true);
+  }
+
+  /**
+   * @return a decoder of the {@code deflate} content encoding, with or without the zlib wrapper
+   */
+  static BodyDecoder deflate() {
+    return new ZlibBodyDecoder(false);
+  }
+
+  /**
+   * Decode a chunk of the body. The decoding of the chunk stops once more than {@code maxLength} bytes are decoded, so
+   * a small chunk decoded to a huge body does not take over the memory.
+   *
+   * @param chunk  the encoded chunk
+   * @param maxLength  the max number of bytes the body handler still accepts
+   * @return the decoded bytes, longer than {@code maxLength} when the body is too large
+   */
+  Buffer decode(Buffer chunk, long maxLength);
+
+  /**
+   * Signal the end of the body, the decoder checks that the body is complete.
+   */
+  void end();
+
+  /**
+   * Release the resources held by the decoder. This is called once the request is done with the decoder, whether the
+   * body was received or not, and can be called more than once.
+   */
+  default void release() {
+  }
+}
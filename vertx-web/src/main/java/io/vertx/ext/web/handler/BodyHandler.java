@@ -17,11 +17,20 @@
 package io.vertx.ext.web.handler;
 
 import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.GenIgnore;
+import io.vertx.codegen.annotations.Nullable;
 import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.impl.BodyHandlerImpl;
 
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 /**
  * A handler which gathers the entire request body and sets it on the {@link RoutingContext}.
  * <p>
@@ -57,6 +66,54 @@ public interface BodyHandler extends Handler<RoutingContext> {
    */
   boolean DEFAULT_PREALLOCATE_BODY_BUFFER = false;
 
+  /**
+   * Default value of whether the body should be kept as the chunks it was received in
+   */
+  boolean DEFAULT_COMPOSITE_BODY_BUFFER = false;
+
+  /**
+   * Default max size of the requests whose file uploads are kept in memory = {@code 0}, i.e. the file uploads are
+   * always written to files
+   */
+  long DEFAULT_IN_MEMORY_UPLOAD_THRESHOLD = 0;
+
+  /**
+   * Default value of whether JSON bodies should be parsed while they are received
+   */
+  boolean DEFAULT_PARSE_JSON_BODY = false;
+
+  /**
+   * Default value of whether the raw bytes of a JSON body parsed while it is received should be kept
+   */
+  boolean DEFAULT_KEEP_JSON_RAW_BODY = true;
+
+  /**
+   * Default value of whether the body should be streamed to the next handlers instead of being gathered
+   */
+  boolean DEFAULT_STREAM_BODY = false;
+
+  /**
+   * Default value of whether bodies sent with a {@code Content-Encoding} should be decoded
+   */
+  boolean DEFAULT_DECOMPRESS_BODY = false;
+
+  /**
+   * The route metadata overriding the body limit of the handler for the requests of the route, a {@link Number} of
+   * bytes, {@code -1} means no limit.
+   * <p>
+   * The metadata must be put on the route that carries the body handler: the metadata of the routes of the next
+   * handlers is ignored, e.g. when the body handler is set on {@code router.route()} for all the requests.
+   */
+  String BODY_LIMIT_METADATA = "X-Body-Limit";
+
+  /**
+   * The route metadata overriding whether the handler streams the body of the requests of the route, a
+   * {@link Boolean}.
+   * <p>
+   * Like {@link #BODY_LIMIT_METADATA}, the metadata must be put on the route that carries the body handler.
+   */
+  String STREAM_BODY_METADATA = "X-Body-Stream";
+
   /**
    * Create a body handler with defaults.
    *
@@ -104,6 +161,46 @@ public interface BodyHandler extends Handler<RoutingContext> {
   @Fluent
   BodyHandler setBodyLimit(long bodyLimit);
 
+  /**
+   * Set whether the body should be streamed to the next handlers instead of being gathered. The body is then available
+   * as a paused stream with {@link io.vertx.ext.web.RequestBody#stream()}, the body limit is still enforced while the
+   * stream is read. Form and multipart bodies are always gathered.
+   *
+   * @param streamBody  true if the body should be streamed
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setStreamBody(boolean streamBody);
+
+  /**
+   * Set whether bodies sent with a {@code Content-Encoding} should be decoded while they are received, the body limit
+   * then applies to the decoded body. The {@code gzip} and {@code deflate} encodings are decoded, other encodings can be
+   * added with {@link #addBodyDecoder(String, Supplier)}. A body with an encoding that cannot be decoded is rejected
+   * with a {@code 415} status. The {@code Content-Encoding} and {@code Content-Length} headers of a decoded body are
+   * removed from the request.
+   * <p>
+   * Form, multipart and streamed bodies are not decoded: a streamed body is passed as it is received, with its
+   * {@code Content-Encoding} header, the next handlers decode it. A decoded body is never gathered without a limit, when
+   * neither the route nor the handler has a body limit, the {@link #DEFAULT_BODY_LIMIT} applies to it.
+   *
+   * @param decompressBody  true if the bodies should be decoded
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setDecompressBody(boolean decompressBody);
+
+  /**
+   * Add a decoder of a content encoding, used when {@link #setDecompressBody(boolean)} is enabled. The decoder is not
+   * used for streamed bodies.
+   *
+   * @param contentEncoding  the content encoding, e.g. {@code br}
+   * @param decoderFactory  creates the decoder of a request body
+   * @return reference to this for fluency
+   */
+  @Fluent
+  @GenIgnore(GenIgnore.PERMITTED_TYPE)
+  BodyHandler addBodyDecoder(String contentEncoding, Supplier<BodyDecoder> decoderFactory);
+
   /**
    * Set the uploads directory to use.
    *
@@ -131,6 +228,32 @@ public interface BodyHandler extends Handler<RoutingContext> {
   @Fluent
   BodyHandler setDeleteUploadedFilesOnEnd(boolean deleteUploadedFilesOnEnd);
 
+  /**
+   * Set the max size in bytes of the requests whose file uploads are kept in memory instead of being written to files
+   * in the uploads directory, e.g. to handle small images without writing and reading them back from the disk. The
+   * content of such an upload is given by {@link io.vertx.ext.web.FileUpload#content()}. The size of a request is given
+   * by its {@code Content-Length} header, the uploads of the requests without it are written to files.
+   *
+   * @param inMemoryUploadThreshold  the max size in bytes, {@code 0} to always write the uploads to files
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setInMemoryUploadThreshold(long inMemoryUploadThreshold);
+
+  /**
+   * Set a function choosing where each file upload is written. The upload is paused until the returned future
+   * completes, it is then written to the stream, which is ended once the whole upload is written. When the future
+   * completes with {@code null}, the upload is kept in memory or written to a file in the uploads directory.
+   * <p>
+   * An upload written to a stream has no {@link io.vertx.ext.web.FileUpload#uploadedFileName()}, the stream is not
+   * ended when the upload is cancelled.
+   *
+   * @param uploadSink  the function choosing the stream of an upload, {@code null} to write all the uploads to files
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setUploadSink(Function<HttpServerFileUpload, Future<@Nullable WriteStream<Buffer>>> uploadSink);
+
   /**
    * Pre-allocate the body buffer according to the value parsed from content-length header.
    * The buffer is capped at 64KB
@@ -142,4 +265,42 @@ public interface BodyHandler extends Handler<RoutingContext> {
   @Fluent
   BodyHandler setPreallocateBodyBuffer(boolean isPreallocateBodyBuffer);
 
+  /**
+   * Keep the body as the chunks it was received in, instead of copying them in a buffer growing with the body. The body
+   * buffer is a composite buffer of the chunks, they are only copied when a contiguous array is needed, and they are
+   * available with {@link io.vertx.ext.web.RequestBody#chunks()}. This avoids the copies of large bodies of unknown
+   * length.
+   *
+   * @param compositeBodyBuffer {@code true} if the body should be kept as the chunks it was received in
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setCompositeBodyBuffer(boolean compositeBodyBuffer);
+
+  /**
+   * Set whether the bodies of the {@code application/json} and {@code +json} requests should be fed to a streaming
+   * JSON parser as they are received, instead of being parsed on the first call to
+   * {@link io.vertx.ext.web.RequestBody#asJsonObject()}. The parsed value is available to the next handlers, and the
+   * POJOs of {@link io.vertx.ext.web.RequestBody#asPojo(Class)} are mapped from it. A body that is not valid JSON
+   * fails the request with a {@code 400} status. Getting a parsed body as the other JSON type, e.g. an array with
+   * {@link io.vertx.ext.web.RequestBody#asJsonObject()}, throws a {@link io.vertx.core.json.DecodeException}.
+   *
+   * @param parseJsonBody  true if JSON bodies should be parsed while they are received
+   * @return reference to this for fluency
+   */
+  @Fluent
+  BodyHandler setParseJsonBody(boolean parseJsonBody);
+
+  /**
+   * Set whether the raw bytes of a JSON body parsed while it is received should be kept. When they are not kept, only
+   * the parsed value is held in memory, and {@link io.vertx.ext.web.RequestBody#buffer()} and
+   * {@link io.vertx.ext.web.RequestBody#asString()} return {@code null}.
+   *
+   * @param keepJsonRawBody  true if the raw bytes should be kept
+   * @return reference to this for fluency
+   * @see #setParseJsonBody(boolean)
+   */
+  @Fluent
+  BodyHandler setKeepJsonRawBody(boolean keepJsonRawBody);
+
 }
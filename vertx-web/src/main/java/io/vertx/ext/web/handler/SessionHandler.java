@@ -87,6 +87,12 @@ public interface SessionHandler extends PlatformHandler {
    */
 	boolean DEFAULT_LAZY_SESSION = false;
 
+  /**
+   * Default min time, in ms, between two renewals of the expiry of a session whose data did not change = {@code 0},
+   * i.e. the expiry is renewed on every request
+   */
+  long DEFAULT_SESSION_TOUCH_INTERVAL = 0;
+
 	/**
 	 * Create a session handler
 	 *
@@ -195,6 +201,18 @@ public interface SessionHandler extends PlatformHandler {
   @Fluent
   SessionHandler setCookieMaxAge(long cookieMaxAge);
 
+  /**
+   * Set the min time between two renewals of the expiry of a session whose data did not change. Such a session is not
+   * stored again, its expiry is only renewed with {@link io.vertx.ext.web.sstore.SessionStore#touch(Session)}, and the
+   * renewal is skipped when the expiry was renewed less than this interval ago. The interval should be much shorter
+   * than the session timeout.
+   *
+   * @param sessionTouchInterval the min time between two renewals, in ms
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  SessionHandler setSessionTouchInterval(long sessionTouchInterval);
+
   /**
    * Flush a context session earlier to the store, this will allow the end user to have full control on the event of
    * a failure at the store level. Once a session is flushed no automatic save will be performed at end of request.
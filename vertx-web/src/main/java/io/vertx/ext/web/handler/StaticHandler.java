@@ -22,6 +22,7 @@ import java.util.Set;
 import io.vertx.codegen.annotations.Fluent;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Http2PushMapping;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.common.WebEnvironment;
@@ -117,6 +118,51 @@ public interface StaticHandler extends Handler<RoutingContext> {
    */
   boolean DEFAULT_SEND_VARY_HEADER = true;
 
+  /**
+   * Default max number of ranges of a multiple range request
+   */
+  int DEFAULT_MAX_RANGES = 16;
+
+  /**
+   * Default of whether entity tags should be sent
+   */
+  boolean DEFAULT_SEND_ETAG = false;
+
+  /**
+   * Default of whether strong entity tags, computed from the content of the files, should be used
+   */
+  boolean DEFAULT_STRONG_ETAG = false;
+
+  /**
+   * Default of whether the changes of the files are watched to evict the cache entries
+   */
+  boolean DEFAULT_WATCH_FILE_CHANGES = false;
+
+  /**
+   * Default of whether the cache of the file properties is shared with the other handlers of the same web root
+   */
+  boolean DEFAULT_SHARED_CACHE = false;
+
+  /**
+   * Default of whether the preload links should be sent in a {@code 103 Early Hints} response
+   */
+  boolean DEFAULT_SEND_EARLY_HINTS = false;
+
+  /**
+   * Default of whether precompressed variants of the files should be served
+   */
+  boolean DEFAULT_SERVE_PRECOMPRESSED = false;
+
+  /**
+   * Default max size of the content cache, in bytes, the content cache is disabled by default
+   */
+  long DEFAULT_MAX_CONTENT_CACHE_SIZE = 0;
+
+  /**
+   * Default max size of a file kept in the content cache, in bytes
+   */
+  long DEFAULT_MAX_CACHED_FILE_SIZE = 64 * 1024;
+
   /**
    * Create a handler using defaults
    *
@@ -220,6 +266,43 @@ public interface StaticHandler extends Handler<RoutingContext> {
   @Fluent
   StaticHandler setMaxCacheSize(int maxCacheSize);
 
+  /**
+   * Set whether the changes of the files of the web root should be watched. When enabled, the cache entries of the
+   * files are evicted as soon as the files are created, modified or deleted, so the entries remain valid until then,
+   * regardless of the cache entry timeout. The changes are watched by a {@link java.nio.file.WatchService}, they are
+   * batched and the whole cache is cleared when the watch service loses events. The files are watched from the first
+   * request served by the handler until the Vert.x instance serving it is closed. The directory tree is registered on a
+   * worker thread, the cache entries expire after the cache entry timeout until the registration completes.
+   * <p>
+   * Files served from the classpath are never watched, the cache entries then expire as usual.
+   *
+   * @param watchFileChanges true to watch the file changes
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setWatchFileChanges(boolean watchFileChanges);
+
+  /**
+   * Set whether the cache of the file properties should be shared with the other handlers of the same web root that
+   * share their cache, e.g. the handlers created by each verticle instance. The cache is only shared by the handlers of
+   * the same Vert.x instance and is released when this instance is closed. The shared cache is created with the max
+   * cache size of the first handler using it, changing the max cache size of a handler resizes the shared cache.
+   *
+   * @param sharedCache true to share the cache
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setSharedCache(boolean sharedCache);
+
+  /**
+   * Get the statistics of the cache of the file properties: the number of {@code hits} and {@code misses}, the number
+   * of {@code evictions} of cached files and of {@code rejections} of files accessed less often than the cached ones,
+   * the {@code size} and the {@code maxSize} of the cache. The statistics are empty when caching is disabled.
+   *
+   * @return the statistics
+   */
+  JsonObject getCacheStatistics();
+
   /**
    * Set the file mapping for http2push and link preload
    *
@@ -229,6 +312,22 @@ public interface StaticHandler extends Handler<RoutingContext> {
   @Fluent
   StaticHandler setHttp2PushMapping(List<Http2PushMapping> http2PushMappings);
 
+  /**
+   * Set whether the preload links of the {@link #setHttp2PushMapping(List) push mapping} should be sent in a
+   * {@code 103 Early Hints} response as soon as a page is requested, before the file is resolved, so the browser can
+   * fetch them while the page is being resolved and sent. The pages are the {@code GET} requests of a directory or of a
+   * {@code text/html} file, no early hints are sent for {@code HEAD} requests. The hints sent for a page that turns out
+   * to be missing are dropped by the browser.
+   * <p>
+   * The links are still sent in the {@code Link} header of the final response, and the files are no longer pushed with
+   * HTTP/2.
+   *
+   * @param sendEarlyHints true to send early hints
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setSendEarlyHints(boolean sendEarlyHints);
+
   /**
    * Skip compression if the media type of the file to send is in the provided
    * {@code mediaTypes} set.
@@ -299,6 +398,17 @@ public interface StaticHandler extends Handler<RoutingContext> {
   @Fluent
   StaticHandler setEnableRangeSupport(boolean enableRangeSupport);
 
+  /**
+   * Set the max number of ranges of a request for several ranges of a file, answered with a
+   * {@code multipart/byteranges} response. The {@code Range} header of a request with more ranges is ignored and the
+   * whole file is sent. Overlapping ranges are coalesced. {@code 1} disables multiple range responses.
+   *
+   * @param maxRanges the max number of ranges
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setMaxRanges(int maxRanges);
+
   /**
    * Set whether vary header should be sent with response.
    *
@@ -317,4 +427,72 @@ public interface StaticHandler extends Handler<RoutingContext> {
    */
   @Fluent
   StaticHandler setDefaultContentEncoding(String contentEncoding);
+
+  /**
+   * Set whether the {@code ETag} header should be sent with the files, and checked against the {@code If-None-Match}
+   * header of conditional requests. Entity tags are sent whether caching is enabled or not, by default they are weak
+   * entity tags computed from the size and the last modified time of the files.
+   *
+   * @param sendETag true to send entity tags
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setSendETag(boolean sendETag);
+
+  /**
+   * Set whether the entity tags sent should be strong entity tags, computed from a hash of the content of the files.
+   * A file is read once to compute its hash, which is then kept in the cache until the file changes. Strong entity tags
+   * are only sent once the file has been admitted to the cache and hashed: the responses sent while the hash is computed,
+   * on a worker thread, have no entity tag. A file the cache does not keep is sent without entity tag, so no strong
+   * entity tag is sent when caching is disabled.
+   *
+   * @param strongETag true to use strong entity tags
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setStrongETag(boolean strongETag);
+
+  /**
+   * Set whether precompressed variants of the files should be served. When enabled, a request for {@code app.js} from
+   * a client accepting the {@code br} or {@code gzip} encoding is answered with the content of {@code app.js.br} or
+   * {@code app.js.gz} when such a file exists next to {@code app.js}, in the order of preference of the client. The
+   * variant is sent as is with the matching {@code Content-Encoding} header, while the {@code Content-Type} and the
+   * cache headers are those of the original file. Ranges apply to the compressed bytes.
+   * <p>
+   * The lookup of the variants is cached like the properties of the files.
+   *
+   * @param servePrecompressed true to serve precompressed variants
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setServePrecompressed(boolean servePrecompressed);
+
+  /**
+   * Set the max size of the content cache, in bytes. The content cache keeps small files in memory and writes them to
+   * the responses without accessing the file system, which matters most for files read from the classpath. The
+   * content of a file is only used while the file keeps the last modified time and size it had when it was cached.
+   * When the cache is full, the files not used recently are evicted. {@code 0} disables the content cache.
+   *
+   * @param maxContentCacheSize the max size of the content cache, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setMaxContentCacheSize(long maxContentCacheSize);
+
+  /**
+   * Set the max size of the files kept in the content cache, larger files are always sent from the file system.
+   *
+   * @param maxCachedFileSize the max size of a cached file, in bytes
+   * @return a reference to this, so the API can be used fluently
+   */
+  @Fluent
+  StaticHandler setMaxCachedFileSize(long maxCachedFileSize);
+
+  /**
+   * Get the statistics of the content cache: the number of {@code hits}, {@code misses} and {@code evictions}, the
+   * number of cached {@code files} and their total {@code size} in bytes.
+   *
+   * @return the statistics
+   */
+  JsonObject getContentCacheStatistics();
 }
@@ -18,27 +18,42 @@ package io.vertx.ext.web.handler.impl;
 
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.http.HttpHeaderValues;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.VertxException;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerFileUpload;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.http.HttpVersion;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.parsetools.JsonEvent;
+import io.vertx.core.parsetools.JsonEventType;
+import io.vertx.core.parsetools.JsonParser;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.FileUpload;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyDecoder;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.impl.FileUploadImpl;
 import io.vertx.ext.web.impl.RoutingContextInternal;
+import io.vertx.ext.web.impl.Utils;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -52,7 +67,15 @@ public class BodyHandlerImpl implements BodyHandler {
   private String uploadsDir;
   private boolean mergeFormAttributes = DEFAULT_MERGE_FORM_ATTRIBUTES;
   private boolean deleteUploadedFilesOnEnd = DEFAULT_DELETE_UPLOADED_FILES_ON_END;
+  private long inMemoryUploadThreshold = DEFAULT_IN_MEMORY_UPLOAD_THRESHOLD;
+  private Function<HttpServerFileUpload, Future<WriteStream<Buffer>>> uploadSink;
   private boolean isPreallocateBodyBuffer = DEFAULT_PREALLOCATE_BODY_BUFFER;
+  private boolean isCompositeBodyBuffer = DEFAULT_COMPOSITE_BODY_BUFFER;
+  private boolean parseJsonBody = DEFAULT_PARSE_JSON_BODY;
+  private boolean keepJsonRawBody = DEFAULT_KEEP_JSON_RAW_BODY;
+  private boolean streamBody = DEFAULT_STREAM_BODY;
+  private boolean decompressBody = DEFAULT_DECOMPRESS_BODY;
+  private final Map<String, Supplier<BodyDecoder>> decoders = new HashMap<>();
   private static final int DEFAULT_INITIAL_BODY_BUFFER_SIZE = 1024; //bytes
 
 
@@ -71,6 +94,9 @@ public class BodyHandlerImpl implements BodyHandler {
   private BodyHandlerImpl(boolean handleFileUploads, String uploadDirectory) {
     this.handleFileUploads = handleFileUploads;
     setUploadsDirectory(uploadDirectory);
+    decoders.put("gzip", BodyDecoder::gzip);
+    decoders.put("x-gzip", BodyDecoder::gzip);
+    decoders.put("deflate", BodyDecoder::deflate);
   }
 
   @Override
@@ -87,6 +113,9 @@ public class BodyHandlerImpl implements BodyHandler {
       // or `content-length` headers set.
       // http://www.w3.org/Protocols/rfc2616/rfc2616-sec4.html#sec4.3
       final long parsedContentLength = parseContentLengthHeader(request);
+      // the route can override the configuration of the handler
+      final Route route = context.currentRoute();
+      final long bodyLimit = bodyLimit(route);
       // http2 never transmits a `transfer-encoding` as frames are chunks.
       final boolean hasTransferEncoding =
         request.version() == HttpVersion.HTTP_2 || request.headers().contains(HttpHeaders.TRANSFER_ENCODING);
@@ -124,8 +153,35 @@ public class BodyHandlerImpl implements BodyHandler {
         }
       }
 
+      // a streamed body is left encoded, the next handlers decode it
+      final boolean stream = streamBody(route) && !isForm(request);
+      // the body is decoded while it is received
+      BodyDecoder decoder = null;
+      if (decompressBody && !stream && !isForm(request)) {
+        final String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && !contentEncoding.equalsIgnoreCase("identity")) {
+          final Supplier<BodyDecoder> decoderFactory = decoders.get(contentEncoding.trim().toLowerCase(Locale.ROOT));
+          if (decoderFactory == null) {
+            context.fail(415);
+            return;
+          }
+          decoder = decoderFactory.get();
+        }
+      }
+
       if (!request.isEnded()) {
-        BHandler handler = new BHandler(context, isPreallocateBodyBuffer ? parsedContentLength : -1);
+        if (stream) {
+          // the next handlers read the body, the request stays paused until they do
+          request.pause();
+          ((RoutingContextInternal) context).setBodyStream(new BodyStream(context, bodyLimit));
+          context.next();
+          return;
+        }
+        // the uploads of small requests are kept in memory
+        final boolean inMemoryUploads = inMemoryUploadThreshold > 0
+          && parsedContentLength != -1 && parsedContentLength <= inMemoryUploadThreshold;
+        BHandler handler = new BHandler(context, isPreallocateBodyBuffer ? parsedContentLength : -1,
+          decoder != null ? decodedBodyLimit(bodyLimit) : bodyLimit, inMemoryUploads, decoder);
         request
           // resume the request (if paused)
           .handler(handler)
@@ -157,6 +213,24 @@ public class BodyHandlerImpl implements BodyHandler {
     return this;
   }
 
+  @Override
+  public BodyHandler setStreamBody(boolean streamBody) {
+    this.streamBody = streamBody;
+    return this;
+  }
+
+  @Override
+  public BodyHandler setDecompressBody(boolean decompressBody) {
+    this.decompressBody = decompressBody;
+    return this;
+  }
+
+  @Override
+  public BodyHandler addBodyDecoder(String contentEncoding, Supplier<BodyDecoder> decoderFactory) {
+    decoders.put(contentEncoding.toLowerCase(Locale.ROOT), decoderFactory);
+    return this;
+  }
+
   @Override
   public BodyHandler setUploadsDirectory(String uploadsDirectory) {
     this.uploadsDir = uploadsDirectory;
@@ -175,12 +249,82 @@ public class BodyHandlerImpl implements BodyHandler {
     return this;
   }
 
+  @Override
+  public BodyHandler setInMemoryUploadThreshold(long inMemoryUploadThreshold) {
+    this.inMemoryUploadThreshold = inMemoryUploadThreshold;
+    return this;
+  }
+
+  @Override
+  public BodyHandler setUploadSink(Function<HttpServerFileUpload, Future<WriteStream<Buffer>>> uploadSink) {
+    this.uploadSink = uploadSink;
+    return this;
+  }
+
   @Override
   public BodyHandler setPreallocateBodyBuffer(boolean isPreallocateBodyBuffer) {
     this.isPreallocateBodyBuffer = isPreallocateBodyBuffer;
     return this;
   }
 
+  @Override
+  public BodyHandler setCompositeBodyBuffer(boolean compositeBodyBuffer) {
+    this.isCompositeBodyBuffer = compositeBodyBuffer;
+    return this;
+  }
+
+  @Override
+  public BodyHandler setParseJsonBody(boolean parseJsonBody) {
+    this.parseJsonBody = parseJsonBody;
+    return this;
+  }
+
+  @Override
+  public BodyHandler setKeepJsonRawBody(boolean keepJsonRawBody) {
+    this.keepJsonRawBody = keepJsonRawBody;
+    return this;
+  }
+
+  private long bodyLimit(Route route) {
+    if (route != null) {
+      final Object limit = route.getMetadata(BODY_LIMIT_METADATA);
+      if (limit instanceof Number) {
+        return ((Number) limit).longValue();
+      }
+    }
+    return bodyLimit;
+  }
+
+  /**
+   * @return the limit of a decoded body, a decoded body is never gathered without a limit
+   */
+  private long decodedBodyLimit(long routeBodyLimit) {
+    if (routeBodyLimit != -1) {
+      return routeBodyLimit;
+    }
+    return bodyLimit != -1 ? bodyLimit : DEFAULT_BODY_LIMIT;
+  }
+
+  private boolean streamBody(Route route) {
+    if (route != null) {
+      final Object stream = route.getMetadata(STREAM_BODY_METADATA);
+      if (stream instanceof Boolean) {
+        return (Boolean) stream;
+      }
+    }
+    return streamBody;
+  }
+
+  private static boolean isForm(HttpServerRequest request) {
+    final String contentType = request.getHeader(HttpHeaders.CONTENT_TYPE);
+    if (contentType == null) {
+      return false;
+    }
+    final String lowerCaseContentType = contentType.toLowerCase();
+    return lowerCaseContentType.startsWith(HttpHeaderValues.MULTIPART_FORM_DATA.toString())
+      || lowerCaseContentType.startsWith(HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED.toString());
+  }
+
   private long parseContentLengthHeader(HttpServerRequest request) {
     String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
     if (contentLength == null || contentLength.isEmpty()) {
@@ -199,23 +343,35 @@ public class BodyHandlerImpl implements BodyHandler {
 
     final RoutingContext context;
     final long contentLength;
+    // the body limit of the route
+    final long bodyLimit;
+    final boolean inMemoryUploads;
+    // decodes the body sent with a content encoding, null if the body is not encoded
+    final BodyDecoder decoder;
+    boolean decoderReleased;
+    // created once a file upload is written to the uploads directory
+    Future<Void> uploadsDirectory;
     Buffer body;
+    // the received chunks, when the body is kept as a composite buffer
+    List<Buffer> chunks;
     boolean failed;
     final AtomicInteger uploadCount = new AtomicInteger();
     boolean ended;
     long uploadSize = 0L;
     final boolean isMultipart;
     final boolean isUrlEncoded;
+    // parses a JSON body while it is received, null if the body is not parsed
+    final JsonParser jsonParser;
+    final boolean keepRawBody;
+    boolean jsonParsed;
+    Object json;
 
-    public BHandler(RoutingContext context, long contentLength) {
+    public BHandler(RoutingContext context, long contentLength, long bodyLimit, boolean inMemoryUploads, BodyDecoder decoder) {
       this.context = context;
       this.contentLength = contentLength;
-      // the request clearly states that there should
-      // be a body, so we respect the client and ensure
-      // that the body will not be null
-      if (contentLength != -1) {
-        initBodyBuffer();
-      }
+      this.bodyLimit = bodyLimit;
+      this.inMemoryUploads = inMemoryUploads;
+      this.decoder = decoder;
 
       List<FileUpload> fileUploads = context.fileUploads();
 
@@ -223,17 +379,33 @@ public class BodyHandlerImpl implements BodyHandler {
       if (contentType == null) {
         isMultipart = false;
         isUrlEncoded = false;
+        jsonParser = null;
       } else {
         final String lowerCaseContentType = contentType.toLowerCase();
         isMultipart = lowerCaseContentType.startsWith(HttpHeaderValues.MULTIPART_FORM_DATA.toString());
         isUrlEncoded = lowerCaseContentType.startsWith(HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED.toString());
+        if (parseJsonBody && Utils.isJsonContentType(lowerCaseContentType)) {
+          // the whole value is emitted once parsed
+          jsonParser = JsonParser.newParser()
+            .objectValueMode()
+            .arrayValueMode()
+            .handler(this::jsonValue)
+            .exceptionHandler(this::jsonFailure);
+        } else {
+          jsonParser = null;
+        }
+      }
+      keepRawBody = jsonParser == null || keepJsonRawBody;
+
+      // the request clearly states that there should
+      // be a body, so we respect the client and ensure
+      // that the body will not be null
+      if (contentLength != -1 && keepRawBody) {
+        initBody();
       }
 
       if (isMultipart || isUrlEncoded) {
         context.request().setExpectMultipart(true);
-        if (handleFileUploads) {
-          makeUploadDir(context.vertx().fileSystem());
-        }
         context.request().uploadHandler(upload -> {
           if (bodyLimit != -1 && upload.isSizeAvailable()) {
             // we can try to abort even before the upload starts
@@ -246,25 +418,36 @@ public class BodyHandlerImpl implements BodyHandler {
             }
           }
           if (handleFileUploads) {
-            // we actually upload to a file with a generated filename
             uploadCount.incrementAndGet();
-            String uploadedFileName = new File(uploadsDir, UUID.randomUUID().toString()).getPath();
-            FileUploadImpl fileUpload = new FileUploadImpl(context.vertx().fileSystem(), uploadedFileName, upload);
-            fileUploads.add(fileUpload);
-            Future<Void> fut = upload.streamToFileSystem(uploadedFileName);
-            fut.onComplete(ar -> {
-              if (fut.succeeded()) {
-                uploadEnded();
-              } else {
-                context.cancelAndCleanupFileUploads();
-                context.fail(ar.cause());
+            // the upload is resumed once it knows where it is written
+            upload.pause();
+            if (uploadSink != null) {
+              Future<WriteStream<Buffer>> sink;
+              try {
+                sink = uploadSink.apply(upload);
+              } catch (RuntimeException e) {
+                sink = Future.failedFuture(e);
               }
-            });
+              sink.onComplete(ar -> {
+                if (ar.failed()) {
+                  uploadFailed(ar.cause());
+                } else if (ar.result() != null) {
+                  FileUploadImpl fileUpload = new FileUploadImpl(upload);
+                  fileUploads.add(fileUpload);
+                  fileUpload.streamTo(ar.result()).onComplete(this::uploadCompleted);
+                } else {
+                  receiveUpload(upload);
+                }
+              });
+            } else {
+              receiveUpload(upload);
+            }
           }
         });
       }
 
       context.request().exceptionHandler(t -> {
+        releaseDecoder();
         context.cancelAndCleanupFileUploads();
         int sc = 200;
         if (t instanceof DecoderException) {
@@ -278,6 +461,14 @@ public class BodyHandlerImpl implements BodyHandler {
       });
     }
 
+    private void initBody() {
+      if (isCompositeBodyBuffer) {
+        chunks = new ArrayList<>();
+      } else {
+        initBodyBuffer();
+      }
+    }
+
     private void initBodyBuffer() {
       int initialBodyBufferSize;
       if (contentLength < 0) {
@@ -295,10 +486,80 @@ public class BodyHandlerImpl implements BodyHandler {
       this.body = Buffer.buffer(initialBodyBufferSize);
     }
 
-    private void makeUploadDir(FileSystem fileSystem) {
-      if (!fileSystem.existsBlocking(uploadsDir)) {
-        fileSystem.mkdirsBlocking(uploadsDir);
+    private void jsonValue(JsonEvent event) {
+      if (failed || event.type() != JsonEventType.VALUE) {
+        return;
+      }
+      if (jsonParsed) {
+        jsonFailure(new DecodeException("Unexpected JSON value after the end of the body value"));
+        return;
+      }
+      jsonParsed = true;
+      json = event.value();
+    }
+
+    private void decodeFailure(Throwable t) {
+      if (!failed) {
+        failed = true;
+        releaseDecoder();
+        context.fail(400, t);
+      }
+    }
+
+    private void jsonFailure(Throwable t) {
+      if (!failed) {
+        failed = true;
+        releaseDecoder();
+        context.cancelAndCleanupFileUploads();
+        context.fail(400, t);
+      }
+    }
+
+    private void releaseDecoder() {
+      if (decoder != null && !decoderReleased) {
+        decoderReleased = true;
+        decoder.release();
+      }
+    }
+
+    private void receiveUpload(HttpServerFileUpload upload) {
+      final List<FileUpload> fileUploads = context.fileUploads();
+      if (inMemoryUploads) {
+        FileUploadImpl fileUpload = new FileUploadImpl(upload);
+        fileUploads.add(fileUpload);
+        fileUpload.receiveInMemory().onComplete(this::uploadCompleted);
+      } else {
+        // we actually upload to a file with a generated filename
+        String uploadedFileName = new File(uploadsDir, UUID.randomUUID().toString()).getPath();
+        FileUploadImpl fileUpload = new FileUploadImpl(context.vertx().fileSystem(), uploadedFileName, upload);
+        fileUploads.add(fileUpload);
+        uploadsDirectory()
+          .compose(v -> fileUpload.streamToFileSystem())
+          .onComplete(this::uploadCompleted);
+      }
+    }
+
+    /**
+     * @return the uploads directory, created without blocking the event loop
+     */
+    private Future<Void> uploadsDirectory() {
+      if (uploadsDirectory == null) {
+        uploadsDirectory = context.vertx().fileSystem().mkdirs(uploadsDir);
       }
+      return uploadsDirectory;
+    }
+
+    private void uploadCompleted(AsyncResult<Void> ar) {
+      if (ar.succeeded()) {
+        uploadEnded();
+      } else {
+        uploadFailed(ar.cause());
+      }
+    }
+
+    private void uploadFailed(Throwable cause) {
+      context.cancelAndCleanupFileUploads();
+      context.fail(cause);
     }
 
     @Override
@@ -306,20 +567,41 @@ public class BodyHandlerImpl implements BodyHandler {
       if (failed) {
         return;
       }
+      if (decoder != null) {
+        try {
+          // the limit applies to the decoded body
+          buff = decoder.decode(buff, bodyLimit == -1 ? Long.MAX_VALUE : bodyLimit - uploadSize);
+        } catch (RuntimeException e) {
+          decodeFailure(e);
+          return;
+        }
+        if (buff.length() == 0) {
+          return;
+        }
+      }
       uploadSize += buff.length();
       if (bodyLimit != -1 && uploadSize > bodyLimit) {
         failed = true;
+        releaseDecoder();
         context.cancelAndCleanupFileUploads();
         context.fail(413);
       } else {
+        if (jsonParser != null) {
+          jsonParser.handle(buff);
+        }
         // multipart requests will not end up in the request body
         // url encoded should also not, however jQuery by default
         // post in urlencoded even if the payload is something else
-        if (!isMultipart /* && !isUrlEncoded */) {
-          if (body == null) {
-            initBodyBuffer();
+        if (!isMultipart /* && !isUrlEncoded */ && keepRawBody && !failed) {
+          if (body == null && chunks == null) {
+            initBody();
+          }
+          if (chunks != null) {
+            // the chunk is kept as is, it is not copied
+            chunks.add(buff);
+          } else {
+            body.appendBuffer(buff);
           }
-          body.appendBuffer(buff);
         }
       }
     }
@@ -333,6 +615,19 @@ public class BodyHandlerImpl implements BodyHandler {
     }
 
     void end(Void v) {
+      if (decoder != null && !failed) {
+        try {
+          // fails an incomplete body
+          decoder.end();
+        } catch (RuntimeException e) {
+          decodeFailure(e);
+        }
+      }
+      releaseDecoder();
+      if (jsonParser != null && !failed) {
+        // fails an incomplete value
+        jsonParser.end();
+      }
       // this marks the end of body parsing, calling doEnd should
       // only be possible from this moment onwards
       ended = true;
@@ -355,12 +650,29 @@ public class BodyHandlerImpl implements BodyHandler {
       }
 
       HttpServerRequest req = context.request();
+      if (decoder != null) {
+        // the body is no longer encoded, the length is the length of the encoded body
+        req.headers().remove(HttpHeaders.CONTENT_ENCODING);
+        req.headers().remove(HttpHeaders.CONTENT_LENGTH);
+      }
       if (mergeFormAttributes && req.isExpectMultipart()) {
         req.params().addAll(req.formAttributes());
       }
-      ((RoutingContextInternal) context).setBody(body);
+      if (jsonParsed) {
+        ((RoutingContextInternal) context).setJsonBody(chunks != null ? Utils.compositeBuffer(chunks) : body, (int) uploadSize, json);
+      } else if (chunks != null) {
+        ((RoutingContextInternal) context).setBodyChunks(chunks);
+      } else {
+        if (body == null && contentLength != -1) {
+          // no value in a body that was not kept, e.g. an empty body
+          body = Buffer.buffer();
+        }
+        ((RoutingContextInternal) context).setBody(body);
+      }
+      json = null;
       // release body as it may take lots of memory
       body = null;
+      chunks = null;
 
       context.next();
     }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.netty.handler.codec.DecoderException;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.HttpException;
+
+/**
+ * The body of a request streamed to the handlers by the {@link io.vertx.ext.web.handler.BodyHandler}.
+ * <p>
+ * The flow control is the flow control of the request, the stream only counts the received bytes to enforce the body
+ * limit. Once the limit is exceeded the rest of the body is discarded and the stream fails with a {@code 413}
+ * {@link HttpException}, the routing context is failed instead when the stream has no exception handler.
+ */
+final class BodyStream implements ReadStream<Buffer> {
+
+  private final RoutingContext context;
+  private final HttpServerRequest request;
+  private final long bodyLimit;
+
+  private long size;
+  private boolean failed;
+  private Handler<Buffer> handler;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+
+  BodyStream(RoutingContext context, long bodyLimit) {
+    this.context = context;
+    this.request = context.request();
+    this.bodyLimit = bodyLimit;
+    request
+      .handler(this::handleChunk)
+      .endHandler(this::handleEnd)
+      .exceptionHandler(this::handleException);
+  }
+
+  private void handleChunk(Buffer chunk) {
+    if (failed) {
+      return;
+    }
+    size += chunk.length();
+    if (bodyLimit != -1 && size > bodyLimit) {
+      failed = true;
+      // discard the rest of the body
+      request.resume();
+      fail(new HttpException(413));
+      return;
+    }
+    final Handler<Buffer> handler = this.handler;
+    if (handler != null) {
+      handler.handle(chunk);
+    }
+  }
+
+  private void handleEnd(Void v) {
+    final Handler<Void> endHandler = this.endHandler;
+    if (!failed && endHandler != null) {
+      endHandler.handle(null);
+    }
+  }
+
+  private void handleException(Throwable t) {
+    if (failed) {
+      return;
+    }
+    failed = true;
+    if (t instanceof DecoderException) {
+      // bad request
+      fail(new HttpException(400, t.getCause() != null ? t.getCause() : t));
+    } else {
+      fail(t);
+    }
+  }
+
+  private void fail(Throwable t) {
+    final Handler<Throwable> exceptionHandler = this.exceptionHandler;
+    if (exceptionHandler != null) {
+      exceptionHandler.handle(t);
+    } else if (!context.failed()) {
+      context.fail(t);
+    }
+  }
+
+  @Override
+  public BodyStream exceptionHandler(Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public BodyStream handler(Handler<Buffer> handler) {
+    this.handler = handler;
+    return this;
+  }
+
+  @Override
+  public BodyStream endHandler(Handler<Void> endHandler) {
+    this.endHandler = endHandler;
+    return this;
+  }
+
+  @Override
+  public BodyStream pause() {
+    if (!failed) {
+      request.pause();
+    }
+    return this;
+  }
+
+  @Override
+  public BodyStream resume() {
+    request.resume();
+    return this;
+  }
+
+  @Override
+  public BodyStream fetch(long amount) {
+    request.fetch(amount);
+    return this;
+  }
+}
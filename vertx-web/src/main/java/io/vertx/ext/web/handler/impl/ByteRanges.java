@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The parts of a {@code multipart/byteranges} response to a request for several ranges of a file.
+ * <p>
+ * Each part is preceded by a header giving its content type and range, the length of the whole body is known in
+ * advance so the response can have a {@code Content-Length}.
+ * <p>
+ * This class is immutable and thread-safe
+ */
+final class ByteRanges {
+
+  private static final long[] UNSATISFIABLE = new long[0];
+
+  private final long[] ranges;
+  private final long size;
+  private final String boundary;
+  private final String contentType;
+
+  /**
+   * @param ranges the inclusive first and last positions of each range
+   * @param size the size of the file
+   * @param contentType the content type of the file, {@code null} if not known
+   */
+  ByteRanges(long[] ranges, long size, String contentType) {
+    this.ranges = ranges;
+    this.size = size;
+    this.boundary = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE)
+      + Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    this.contentType = contentType;
+  }
+
+  /**
+   * Parses a {@code Range} header made of {@code first-last}, {@code first-} or {@code -suffixLength} ranges.
+   * <p>
+   * Ranges starting after the end of the file are ignored, the others are truncated to the end of the file. A suffix
+   * range covers the last {@code suffixLength} bytes of the file, or the whole file when it is shorter. Ranges
+   * that overlap or are adjacent are coalesced in a single range, so a client cannot make the server send the same
+   * bytes many times.
+   *
+   * @param header the value of the {@code Range} header
+   * @param size the size of the file
+   * @param maxRanges the max number of ranges accepted
+   * @return the inclusive first and last positions of each satisfiable range, an empty array if no range is
+   * satisfiable, or {@code null} if the header is not a valid set of ranges or has more than {@code maxRanges} ranges,
+   * in which case the header should be ignored
+   */
+  static long[] parse(String header, long size, int maxRanges) {
+    if (!header.startsWith("bytes=")) {
+      return null;
+    }
+    long[] ranges = new long[8];
+    int count = 0;
+    int specs = 0;
+    int start = 6;
+    while (start <= header.length()) {
+      int end = header.indexOf(',', start);
+      if (end == -1) {
+        end = header.length();
+      }
+      if (specs++ == maxRanges) {
+        return null;
+      }
+      final String spec = header.substring(start, end).trim();
+      final int dash = spec.indexOf('-');
+      if (dash == -1 || (dash == 0 && spec.length() == 1) || !isDigits(spec, 0, dash) || !isDigits(spec, dash + 1, spec.length())) {
+        return null;
+      }
+      final long first;
+      final long last;
+      try {
+        if (dash == 0) {
+          // the last bytes of the file, a suffix of length 0 is not satisfiable
+          final long suffixLength = Long.parseLong(spec, 1, spec.length(), 10);
+          first = suffixLength == 0 ? size : Math.max(0, size - suffixLength);
+          last = size - 1;
+        } else {
+          first = Long.parseLong(spec, 0, dash, 10);
+          last = dash + 1 == spec.length() ? Long.MAX_VALUE : Long.parseLong(spec, dash + 1, spec.length(), 10);
+        }
+      } catch (NumberFormatException e) {
+        return null;
+      }
+      if (dash != 0 && last < first) {
+        // invalid range, the whole header is ignored
+        return null;
+      }
+      if (first < size) {
+        if (count * 2 == ranges.length) {
+          ranges = Arrays.copyOf(ranges, ranges.length * 2);
+        }
+        ranges[count * 2] = first;
+        ranges[count * 2 + 1] = Math.min(last, size - 1);
+        count++;
+      }
+      start = end + 1;
+    }
+    if (count == 0) {
+      return UNSATISFIABLE;
+    }
+    return coalesce(Arrays.copyOf(ranges, count * 2));
+  }
+
+  private static boolean isDigits(String s, int start, int end) {
+    for (int i = start; i < end; i++) {
+      final char c = s.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the ranges in their original order when none of them overlap, otherwise the coalesced ranges in ascending
+   * order
+   */
+  private static long[] coalesce(long[] ranges) {
+    final int count = ranges.length / 2;
+    final Integer[] order = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(ranges[a * 2], ranges[b * 2]));
+
+    boolean overlap = false;
+    for (int i = 1; i < count && !overlap; i++) {
+      overlap = ranges[order[i] * 2] <= ranges[order[i - 1] * 2 + 1] + 1;
+    }
+    if (!overlap) {
+      return ranges;
+    }
+
+    final long[] coalesced = new long[ranges.length];
+    int size = 0;
+    for (int i = 0; i < count; i++) {
+      final long first = ranges[order[i] * 2];
+      final long last = ranges[order[i] * 2 + 1];
+      if (size > 0 && first <= coalesced[size - 1] + 1) {
+        coalesced[size - 1] = Math.max(coalesced[size - 1], last);
+      } else {
+        coalesced[size++] = first;
+        coalesced[size++] = last;
+      }
+    }
+    return Arrays.copyOf(coalesced, size);
+  }
+
+  /**
+   * @return the content type of the response
+   */
+  String contentType() {
+    return "multipart/byteranges; boundary=" + boundary;
+  }
+
+  int count() {
+    return ranges.length / 2;
+  }
+
+  long offset(int part) {
+    return ranges[part * 2];
+  }
+
+  long length(int part) {
+    return ranges[part * 2 + 1] - ranges[part * 2] + 1;
+  }
+
+  /**
+   * @return the delimiter and headers preceding the content of a part
+   */
+  Buffer partHeader(int part) {
+    final StringBuilder sb = new StringBuilder(128);
+    if (part > 0) {
+      sb.append("\r\n");
+    }
+    sb.append("--").append(boundary).append("\r\n");
+    if (contentType != null) {
+      sb.append("Content-Type: ").append(contentType).append("\r\n");
+    }
+    sb
+      .append("Content-Range: bytes ")
+      .append(ranges[part * 2]).append('-').append(ranges[part * 2 + 1]).append('/').append(size)
+      .append("\r\n\r\n");
+    return Buffer.buffer(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  /**
+   * @return the delimiter closing the body
+   */
+  Buffer trailer() {
+    return Buffer.buffer(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  /**
+   * @return the length of the body
+   */
+  long contentLength() {
+    long length = trailer().length();
+    for (int i = 0; i < count(); i++) {
+      length += partHeader(i).length() + length(i);
+    }
+    return length;
+  }
+}
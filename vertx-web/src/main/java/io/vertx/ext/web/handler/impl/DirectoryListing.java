@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.Json;
+import io.vertx.ext.web.impl.Utils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The sorted file names of a directory, as of the last modified time of the directory.
+ * <p>
+ * The whole listing is rendered once per format and the rendering is kept with the listing, a range of the listing is
+ * rendered on demand and written to the response in chunks of {@link #CHUNK_SIZE} files.
+ * <p>
+ * This class is thread-safe
+ */
+final class DirectoryListing {
+
+  static final int CHUNK_SIZE = 1000;
+
+  /**
+   * A rendering format of the listing.
+   */
+  static abstract class Format {
+
+    private final String contentType;
+    private final String prefix;
+    private final String suffix;
+
+    Format(String contentType, String prefix, String suffix) {
+      this.contentType = contentType;
+      this.prefix = prefix;
+      this.suffix = suffix;
+    }
+
+    String contentType() {
+      return contentType;
+    }
+
+    /**
+     * @param first whether the file is the first file of the rendered range
+     */
+    abstract void append(StringBuilder sb, String file, boolean first);
+  }
+
+  static final Format TEXT = new Format("text/plain", "", "") {
+    @Override
+    void append(StringBuilder sb, String file, boolean first) {
+      sb.append(file).append('\n');
+    }
+  };
+
+  static final Format JSON = new Format("application/json", "[", "]") {
+    @Override
+    void append(StringBuilder sb, String file, boolean first) {
+      if (!first) {
+        sb.append(',');
+      }
+      sb.append(Json.encode(file));
+    }
+  };
+
+  /**
+   * @param template the directory template
+   * @param directory the request path of the directory, ending with a {@code /}
+   */
+  static Format html(String template, String directory) {
+    // link to parent dir
+    int slashPos = 0;
+    for (int i = directory.length() - 2; i > 0; i--) {
+      if (directory.charAt(i) == '/') {
+        slashPos = i;
+        break;
+      }
+    }
+    final String parent = "<a href=\"" + directory.substring(0, slashPos + 1) + "\">..</a>";
+
+    int idx = template.indexOf("{files}");
+    final String before = idx == -1 ? template : template.substring(0, idx);
+    final String after = idx == -1 ? "" : template.substring(idx + "{files}".length());
+    return new Format(
+      "text/html",
+      before.replace("{directory}", directory).replace("{parent}", parent) + "<ul id=\"files\">",
+      "</ul>" + after.replace("{directory}", directory).replace("{parent}", parent)) {
+      @Override
+      void append(StringBuilder sb, String file, boolean first) {
+        final String escapedHTML = Utils.escapeHTML(file);
+        sb
+          .append("<li><a href=\"")
+          .append(directory)
+          .append(Utils.encodeUriPath(file))
+          .append("\" title=\"")
+          .append(escapedHTML)
+          .append("\">")
+          .append(escapedHTML)
+          .append("</a></li>");
+      }
+    };
+  }
+
+  private final String[] files;
+  private final long lastModified;
+
+  // the renderings of the whole listing
+  private volatile Buffer text;
+  private volatile Buffer json;
+  // the html rendering depends on the request path of the directory
+  private volatile String htmlDirectory;
+  private volatile Buffer html;
+
+  private DirectoryListing(String[] files, long lastModified) {
+    this.files = files;
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * @param paths the paths of the files of the directory
+   * @param lastModified the last modified time of the directory
+   * @param includeHidden whether the hidden files are listed
+   */
+  static DirectoryListing create(List<String> paths, long lastModified, boolean includeHidden) {
+    String[] files = new String[paths.size()];
+    int size = 0;
+    for (String path : paths) {
+      final String file = path.substring(path.lastIndexOf(File.separatorChar) + 1);
+      // skip dot files
+      if (!includeHidden && file.charAt(0) == '.') {
+        continue;
+      }
+      files[size++] = file;
+    }
+    files = Arrays.copyOf(files, size);
+    Arrays.sort(files);
+    return new DirectoryListing(files, lastModified);
+  }
+
+  long lastModified() {
+    return lastModified;
+  }
+
+  int size() {
+    return files.length;
+  }
+
+  /**
+   * @param directory the request path of the directory for the html format
+   * @return the rendering of the whole listing
+   */
+  Buffer render(Format format, String directory) {
+    if (format == TEXT) {
+      Buffer text = this.text;
+      if (text == null) {
+        this.text = text = render(format, 0, files.length, true, true);
+      }
+      return text;
+    }
+    if (format == JSON) {
+      Buffer json = this.json;
+      if (json == null) {
+        this.json = json = render(format, 0, files.length, true, true);
+      }
+      return json;
+    }
+    synchronized (this) {
+      if (html == null || !directory.equals(htmlDirectory)) {
+        html = render(format, 0, files.length, true, true);
+        htmlDirectory = directory;
+      }
+      return html;
+    }
+  }
+
+  private Buffer render(Format format, int from, int to, boolean prefix, boolean suffix) {
+    final StringBuilder sb = new StringBuilder();
+    if (prefix) {
+      sb.append(format.prefix);
+    }
+    for (int i = from; i < to; i++) {
+      format.append(sb, files[i], prefix && i == from);
+    }
+    if (suffix) {
+      sb.append(format.suffix);
+    }
+    return Buffer.buffer(sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Writes a range of the listing to a response and ends it. A small range is written at once, a large range is
+   * rendered and written in chunks, following the write queue of the response.
+   *
+   * @param offset the index of the first file
+   * @param limit the max number of files
+   */
+  Future<Void> send(HttpServerResponse response, Format format, int offset, int limit) {
+    final int from = Math.min(offset, files.length);
+    final int to = (int) Math.min((long) from + limit, files.length);
+    response.putHeader("content-type", format.contentType());
+    if (to - from <= CHUNK_SIZE) {
+      return response.end(render(format, from, to, true, true));
+    }
+    response.setChunked(true);
+    final Promise<Void> promise = Promise.promise();
+    sendChunks(response, format, from, from, to, promise);
+    return promise.future();
+  }
+
+  private void sendChunks(HttpServerResponse response, Format format, int from, int pos, int to, Promise<Void> promise) {
+    while (true) {
+      final int end = Math.min(pos + CHUNK_SIZE, to);
+      final Buffer chunk = render(format, pos, end, pos == from, end == to);
+      if (end == to) {
+        response.end(chunk).onComplete(promise);
+        return;
+      }
+      response.write(chunk);
+      pos = end;
+      if (response.writeQueueFull()) {
+        final int next = pos;
+        response.drainHandler(v -> sendChunks(response, format, from, next, to, promise));
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileProps;
+import io.vertx.core.internal.buffer.BufferInternal;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.vertx.ext.web.handler.StaticHandler.DEFAULT_MAX_CACHED_FILE_SIZE;
+import static io.vertx.ext.web.handler.StaticHandler.DEFAULT_MAX_CONTENT_CACHE_SIZE;
+
+/**
+ * An in memory cache of the content of small files, the files not used recently are evicted when the total size of
+ * the cached files exceeds the max size of the cache.
+ * <p>
+ * The content of a file is kept in a direct buffer and written as is to the responses. A cached content is only valid
+ * for the last modified time and size of the file it was read with, any change of the file properties invalidates it.
+ * <p>
+ * The lookups do not lock, a lookup only marks the entry it finds as referenced. The updates are serialized, they
+ * follow the read of a file and evict the entries in the order they were cached, giving a referenced entry a second
+ * chance (the CLOCK approximation of LRU): an eviction does not depend on the number of cached files.
+ * <p>
+ * This class is thread-safe
+ */
+final class FileContentCache {
+
+  private static final class Entry {
+    final String path;
+    final Buffer content;
+    final long lastModified;
+    final long size;
+    // accessed since the eviction last visited the entry
+    volatile boolean referenced;
+
+    Entry(String path, Buffer content, long lastModified) {
+      this.path = path;
+      this.content = content;
+      this.lastModified = lastModified;
+      this.size = content.length();
+    }
+  }
+
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+  // the entries in eviction order, with the removed entries not visited yet, guarded by this
+  private final ArrayDeque<Entry> clock = new ArrayDeque<>();
+  private volatile long maxSize = DEFAULT_MAX_CONTENT_CACHE_SIZE;
+  private volatile long maxFileSize = DEFAULT_MAX_CACHED_FILE_SIZE;
+  // total size of the cached files
+  private final AtomicLong size = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  boolean enabled() {
+    return maxSize > 0;
+  }
+
+  /**
+   * @return whether a file with the given properties can be cached
+   */
+  boolean cacheable(FileProps props) {
+    return maxSize > 0 && props.size() <= maxFileSize && props.size() <= maxSize;
+  }
+
+  synchronized void setMaxSize(long maxSize) {
+    if (maxSize < 0) {
+      throw new IllegalArgumentException("maxContentCacheSize must be >= 0");
+    }
+    this.maxSize = maxSize;
+    evict();
+  }
+
+  synchronized void setMaxFileSize(long maxFileSize) {
+    if (maxFileSize < 0) {
+      throw new IllegalArgumentException("maxCachedFileSize must be >= 0");
+    }
+    this.maxFileSize = maxFileSize;
+    entries.forEach((path, entry) -> {
+      if (entry.size > maxFileSize) {
+        remove(entry);
+      }
+    });
+  }
+
+  /**
+   * @param path the file path
+   * @param props the current properties of the file
+   * @return the cached content of the file, or {@code null} if the file is not cached or has changed since it was cached
+   */
+  Buffer get(String path, FileProps props) {
+    final Buffer content = probe(path, props);
+    if (content == null) {
+      misses.increment();
+    }
+    return content;
+  }
+
+  /**
+   * Like {@link #get(String, FileProps)}, a miss is not counted though: the caller gets the file again once it has
+   * read its properties from the file system.
+   */
+  Buffer probe(String path, FileProps props) {
+    final Entry entry = entries.get(path);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.lastModified != props.lastModifiedTime() || entry.size != props.size()) {
+      // the file has changed
+      remove(entry);
+      return null;
+    }
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+    hits.increment();
+    return entry.content;
+  }
+
+  /**
+   * Caches the content of a file read after a cache miss.
+   *
+   * @param path the file path
+   * @param props the properties of the file when it was read
+   * @param content the content of the file
+   * @return the cached content, to be written to the response instead of the given content
+   */
+  synchronized Buffer put(String path, FileProps props, Buffer content) {
+    final Entry entry = new Entry(path, direct(content), props.lastModifiedTime());
+    final Entry previous = entries.put(path, entry);
+    if (previous != null) {
+      size.addAndGet(-previous.size);
+    }
+    size.addAndGet(entry.size);
+    if (clock.size() > 2 * entries.size() + 16) {
+      // the removed entries are only dropped when the eviction visits them, drop them before they pile up
+      clock.removeIf(e -> entries.get(e.path) != e);
+    }
+    clock.add(entry);
+    evict();
+    return entry.content;
+  }
+
+  private void remove(Entry entry) {
+    if (entries.remove(entry.path, entry)) {
+      size.addAndGet(-entry.size);
+    }
+  }
+
+  private void evict() {
+    // an entry referenced again while it is visited does not get more than one chance
+    int chances = clock.size();
+    Entry entry;
+    while (size.get() > maxSize && (entry = clock.poll()) != null) {
+      if (entries.get(entry.path) != entry) {
+        // removed or replaced
+        continue;
+      }
+      if (entry.referenced && chances-- > 0) {
+        entry.referenced = false;
+        clock.add(entry);
+        continue;
+      }
+      if (entries.remove(entry.path, entry)) {
+        size.addAndGet(-entry.size);
+        evictions.increment();
+      }
+    }
+  }
+
+  JsonObject statistics() {
+    return new JsonObject()
+      .put("hits", hits.sum())
+      .put("misses", misses.sum())
+      .put("evictions", evictions.sum())
+      .put("files", entries.size())
+      .put("size", size.get());
+  }
+
+  /**
+   * Copies a buffer to a direct buffer. The direct buffer is not pooled: it is shared by the responses being written and
+   * must remain valid after its eviction, the garbage collector reclaims it once it is no longer used.
+   */
+  private static Buffer direct(Buffer content) {
+    final ByteBuf heap = ((BufferInternal) content).getByteBuf();
+    final ByteBuffer direct = ByteBuffer.allocateDirect(heap.readableBytes());
+    heap.getBytes(heap.readerIndex(), direct);
+    direct.flip();
+    return BufferInternal.buffer(Unpooled.wrappedBuffer(direct));
+  }
+}
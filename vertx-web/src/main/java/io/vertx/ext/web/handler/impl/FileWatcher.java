@@ -0,0 +1,259 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.internal.logging.Logger;
+import io.vertx.core.internal.logging.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the changes of the files of a directory tree with a {@link WatchService}, on a daemon thread.
+ * <p>
+ * The events are batched: once an event is received, the events of the next {@link #BATCH_DELAY_MS} milliseconds are
+ * collected and the listeners are notified once with all the changed paths. When events are lost, the listeners are
+ * notified of an overflow and must assume that any file may have changed.
+ * <p>
+ * A single watcher is created for each directory. The listeners are weakly referenced, so a listener must be kept
+ * reachable by its owner, the watcher stops once all its listeners are gone or unwatched.
+ * <p>
+ * This class is thread-safe
+ */
+final class FileWatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileWatcher.class);
+
+  static final long BATCH_DELAY_MS = 50;
+  // how often the watcher checks whether it still has listeners when no event is received
+  private static final long IDLE_CHECK_MS = 10_000;
+
+  private static final Map<Path, FileWatcher> WATCHERS = new HashMap<>();
+
+  interface Listener {
+
+    /**
+     * @param paths the created, modified or deleted paths, relative to the watched directory
+     */
+    void changed(Set<Path> paths);
+
+    /**
+     * Events were lost, any file may have changed.
+     */
+    void overflow();
+  }
+
+  private final Path root;
+  private final WatchService service;
+  private final List<WeakReference<Listener>> listeners = new ArrayList<>();
+
+  private FileWatcher(Path root) throws IOException {
+    this.root = root;
+    this.service = root.getFileSystem().newWatchService();
+    register(root, null);
+  }
+
+  /**
+   * Starts watching a directory, the watcher of the directory is created if needed.
+   * <p>
+   * Creating a watcher registers the whole directory tree, this method blocks and must not be called on an event loop.
+   *
+   * @param directory the directory to watch
+   * @param listener the listener of the changes, weakly referenced
+   * @throws IOException if the directory cannot be watched
+   */
+  static void watch(Path directory, Listener listener) throws IOException {
+    final Path root = directory.toAbsolutePath().normalize();
+    synchronized (WATCHERS) {
+      final FileWatcher watcher = WATCHERS.get(root);
+      if (watcher != null) {
+        watcher.listeners.add(new WeakReference<>(listener));
+        return;
+      }
+    }
+    // the directory tree is registered without holding the lock, the other directories remain available meanwhile
+    final FileWatcher created = new FileWatcher(root);
+    synchronized (WATCHERS) {
+      FileWatcher watcher = WATCHERS.get(root);
+      if (watcher == null) {
+        watcher = created;
+        WATCHERS.put(root, watcher);
+        final Thread thread = new Thread(watcher::run, "vertx-web-file-watcher-" + root.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+      } else {
+        // another listener registered the same directory concurrently
+        created.close();
+      }
+      watcher.listeners.add(new WeakReference<>(listener));
+    }
+  }
+
+  /**
+   * Stops notifying a listener.
+   */
+  static void unwatch(Path directory, Listener listener) {
+    final Path root = directory.toAbsolutePath().normalize();
+    synchronized (WATCHERS) {
+      final FileWatcher watcher = WATCHERS.get(root);
+      if (watcher != null) {
+        watcher.listeners.removeIf(ref -> ref.get() == null || ref.get() == listener);
+        if (watcher.listeners.isEmpty()) {
+          // closing the watch service stops the thread of the watcher
+          WATCHERS.remove(root);
+          watcher.close();
+        }
+      }
+    }
+  }
+
+  private void close() {
+    try {
+      service.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to stop watching " + root, e);
+    }
+  }
+
+  /**
+   * Registers a directory and its sub directories.
+   *
+   * @param changed the paths found in the directories, {@code null} if not needed
+   */
+  private void register(Path directory, Set<Path> changed) throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        dir.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        if (changed != null) {
+          changed.add(root.relativize(dir));
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if (changed != null) {
+          changed.add(root.relativize(file));
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        WatchKey key = service.poll(IDLE_CHECK_MS, TimeUnit.MILLISECONDS);
+        if (key == null) {
+          if (stopIfUnused()) {
+            return;
+          }
+          continue;
+        }
+        final Set<Path> changed = new HashSet<>();
+        boolean overflow = false;
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BATCH_DELAY_MS);
+        while (key != null) {
+          overflow |= process(key, changed);
+          final long remaining = deadline - System.nanoTime();
+          key = remaining > 0 ? service.poll(remaining, TimeUnit.NANOSECONDS) : null;
+        }
+        for (Listener listener : listeners()) {
+          try {
+            if (overflow) {
+              listener.overflow();
+            } else {
+              listener.changed(changed);
+            }
+          } catch (RuntimeException e) {
+            LOG.error("Failed to notify the changes of " + root, e);
+          }
+        }
+        if (stopIfUnused()) {
+          return;
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // stop watching
+    } finally {
+      synchronized (WATCHERS) {
+        WATCHERS.remove(root, this);
+      }
+      close();
+    }
+  }
+
+  /**
+   * @return whether an overflow occurred
+   */
+  private boolean process(WatchKey key, Set<Path> changed) {
+    final Path dir = (Path) key.watchable();
+    boolean overflow = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        overflow = true;
+        continue;
+      }
+      final Path path = dir.resolve((Path) event.context());
+      changed.add(root.relativize(path));
+      if (event.kind() == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+        try {
+          // the files created before the directory is registered have no event
+          register(path, changed);
+        } catch (IOException e) {
+          LOG.warn("Failed to watch " + path, e);
+          overflow = true;
+        }
+      }
+    }
+    // a key that cannot be reset is a deleted directory
+    key.reset();
+    return overflow;
+  }
+
+  private List<Listener> listeners() {
+    final List<Listener> result = new ArrayList<>();
+    synchronized (WATCHERS) {
+      for (Iterator<WeakReference<Listener>> it = listeners.iterator(); it.hasNext(); ) {
+        final Listener listener = it.next().get();
+        if (listener == null) {
+          it.remove();
+        } else {
+          result.add(listener);
+        }
+      }
+    }
+    return result;
+  }
+
+  private boolean stopIfUnused() {
+    synchronized (WATCHERS) {
+      listeners.removeIf(ref -> ref.get() == null);
+      if (listeners.isEmpty()) {
+        WATCHERS.remove(root, this);
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -46,6 +46,8 @@ public class SessionHandlerImpl implements SessionHandler {
   public static final String SESSION_USER_HOLDER_KEY = "__vertx.userHolder";
   public static final String SESSION_FLUSHED_KEY = "__vertx.session-flushed";
   public static final String SESSION_STOREUSER_KEY = "__vertx.session-storeuser";
+  // the id of the session of the context when it is known to the store
+  private static final String SESSION_STORED_KEY = "__vertx.session-stored";
 
   private static final Logger LOG = LoggerFactory.getLogger(SessionHandlerImpl.class);
 
@@ -60,6 +62,7 @@ public class SessionHandlerImpl implements SessionHandler {
   private int minLength = DEFAULT_SESSIONID_MIN_LENGTH;
   private boolean lazySession = DEFAULT_LAZY_SESSION;
   private long cookieMaxAge = -1;
+  private long sessionTouchInterval = DEFAULT_SESSION_TOUCH_INTERVAL;
 
   private boolean cookieless;
   private CookieSameSite cookieSameSite;
@@ -129,6 +132,12 @@ public class SessionHandlerImpl implements SessionHandler {
     return this;
   }
 
+  @Override
+  public SessionHandler setSessionTouchInterval(long sessionTouchInterval) {
+    this.sessionTouchInterval = sessionTouchInterval;
+    return this;
+  }
+
   @Override
   public SessionHandler setCookieless(boolean cookieless) {
     this.cookieless = cookieless;
@@ -224,6 +233,7 @@ public class SessionHandlerImpl implements SessionHandler {
               return sessionStore.put(session)
                 .onSuccess(put -> {
                   context.put(SESSION_FLUSHED_KEY, true);
+                  context.put(SESSION_STORED_KEY, session.id());
                   if (session instanceof SessionInternal) {
                     ((SessionInternal) session).flushed(skipCrc);
                   }
@@ -236,10 +246,28 @@ public class SessionHandlerImpl implements SessionHandler {
               sessionCookie(context, session.value());
             }
           }
+          if (session.id().equals(context.get(SESSION_STORED_KEY))
+            && session instanceof SessionInternal && !((SessionInternal) session).isModified()) {
+            // the data did not change, only the expiry of the stored session is renewed
+            final SessionInternal internal = (SessionInternal) session;
+            session.setAccessed();
+            // the last access time of a shared session is updated by every request, the renewals are tracked apart. A
+            // session renewed by the store when it was loaded is not renewed again by the same request
+            if (internal.isRenewedOnLoad() || session.lastAccessed() - internal.lastRenewed() < sessionTouchInterval) {
+              context.put(SESSION_FLUSHED_KEY, true);
+              return ctx.succeededFuture();
+            }
+            return sessionStore.touch(session)
+              .onSuccess(touch -> {
+                context.put(SESSION_FLUSHED_KEY, true);
+                internal.flushed(skipCrc);
+              });
+          }
           session.setAccessed();
           return sessionStore.put(session)
             .onSuccess(put -> {
               context.put(SESSION_FLUSHED_KEY, true);
+              context.put(SESSION_STORED_KEY, session.id());
               if (session instanceof SessionInternal) {
                 ((SessionInternal) session).flushed(skipCrc);
               }
@@ -325,6 +353,7 @@ public class SessionHandlerImpl implements SessionHandler {
         .onSuccess(session -> {
           if (session != null) {
             ((RoutingContextInternal) context).setSession(session);
+            context.put(SESSION_STORED_KEY, session.id());
             // attempt to load the user from the session
             UserHolder holder = session.get(SESSION_USER_HOLDER_KEY);
             if (holder != null) {
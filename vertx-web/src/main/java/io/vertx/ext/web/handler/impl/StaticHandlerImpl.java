@@ -16,28 +16,48 @@
 
 package io.vertx.ext.web.handler.impl;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Closeable;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
 import io.vertx.core.file.FileProps;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.*;
+import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.internal.net.RFC3986;
-import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import io.vertx.core.spi.file.FileResolver;
 import io.vertx.ext.web.Http2PushMapping;
 import io.vertx.ext.web.MIMEHeader;
+import io.vertx.ext.web.ParsedHeaderValue;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.FileSystemAccess;
 import io.vertx.ext.web.handler.StaticHandler;
-import io.vertx.ext.web.impl.LRUCache;
+import io.vertx.ext.web.impl.TinyLfuCache;
 import io.vertx.ext.web.impl.ParsableMIMEValue;
 import io.vertx.ext.web.impl.Utils;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -55,6 +75,9 @@ public class StaticHandlerImpl implements StaticHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(StaticHandlerImpl.class);
 
+  private static final int MAX_CACHED_LISTINGS = 64;
+  private static final int HASH_BUFFER_SIZE = 8192;
+
   // TODO change to private final after setWebRoot has been removed
   private String webRoot = DEFAULT_WEB_ROOT;
   private long maxAgeSeconds = DEFAULT_MAX_AGE_SECONDS; // One day
@@ -63,12 +86,26 @@ public class StaticHandlerImpl implements StaticHandler {
   private String directoryTemplate;
   private boolean includeHidden = DEFAULT_INCLUDE_HIDDEN;
   private boolean filesReadOnly = DEFAULT_FILES_READ_ONLY;
+  private boolean watchFileChanges = DEFAULT_WATCH_FILE_CHANGES;
+  // invalidates the cache entries of the changed files, null when the files are not watched
+  private volatile FileWatcher.Listener watcher;
+  // the listener of the directory tree being registered on a worker thread, null when no registration is running
+  private FileWatcher.Listener pendingWatcher;
+  // stops watching the files when the Vert.x instance of the handler is closed
+  private Closeable watcherCloseHook;
   private String indexPage = DEFAULT_INDEX_PAGE;
   private List<Http2PushMapping> http2PushMappings;
+  // the Link header values of the push mappings
+  private List<String> preloadLinks;
+  private boolean sendEarlyHints = DEFAULT_SEND_EARLY_HINTS;
   private boolean rangeSupport = DEFAULT_RANGE_SUPPORT;
+  private int maxRanges = DEFAULT_MAX_RANGES;
   // TODO change to private final after setAllowRootAccess has been removed
   private boolean allowRootFileSystemAccess = DEFAULT_ROOT_FILESYSTEM_ACCESS;
   private boolean sendVaryHeader = DEFAULT_SEND_VARY_HEADER;
+  private boolean precompressed = DEFAULT_SERVE_PRECOMPRESSED;
+  private boolean sendETag = DEFAULT_SEND_ETAG;
+  private boolean strongETag = DEFAULT_STRONG_ETAG;
   private String defaultContentEncoding = Charset.defaultCharset().name();
 
   private Set<String> compressedMediaTypes = Collections.emptySet();
@@ -76,6 +113,11 @@ public class StaticHandlerImpl implements StaticHandler {
 
   private final FSTune tune = new FSTune();
   private final FSPropsCache cache = new FSPropsCache();
+  // the Vert.x instance of the handler, null until the handler serves its first request
+  private volatile Vertx vertx;
+  private final FileContentCache contentCache = new FileContentCache();
+  // the listings of the directories, rendered once per format
+  private final TinyLfuCache<String, DirectoryListing> listingCache = new TinyLfuCache<>(MAX_CACHED_LISTINGS);
 
   /**
    * Constructor called by static factory method
@@ -114,14 +156,21 @@ public class StaticHandlerImpl implements StaticHandler {
    *
    * @param request base HttpServerRequest
    * @param props   file properties
+   * @param etag    the entity tag of the file, {@code null} if not sent
    */
-  private void writeCacheHeaders(HttpServerRequest request, FileProps props) {
+  private void writeCacheHeaders(HttpServerRequest request, FileProps props, String etag) {
+    writeCacheHeaders(request, request.response().headers(), props, etag);
+  }
 
-    MultiMap headers = request.response().headers();
+  private void writeCacheHeaders(HttpServerRequest request, MultiMap headers, FileProps props, String etag) {
 
+    // the entity tag is a validator of the file, it is sent whether caching is enabled or not
+    if (etag != null) {
+      headers.set(HttpHeaders.ETAG, etag);
+    }
     if (cache.enabled()) {
-      // We use cache-control and last-modified
-      // We *do not use* etags and expires (since they do the same thing - redundant)
+      // We use cache-control and last-modified when enabled
+      // We *do not use* expires (since it does the same thing - redundant)
       Utils.addToMapIfAbsent(headers, HttpHeaders.CACHE_CONTROL, "public, immutable, max-age=" + maxAgeSeconds);
       Utils.addToMapIfAbsent(headers, HttpHeaders.LAST_MODIFIED, Utils.formatRFC1123DateTime(props.lastModifiedTime()));
       // We send the vary header (for intermediate caches)
@@ -148,6 +197,17 @@ public class StaticHandlerImpl implements StaticHandler {
       }
       String path = context.normalizedPath();
 
+      if (sendEarlyHints && preloadLinks != null && request.method() == HttpMethod.GET && request.version() != HttpVersion.HTTP_1_0 && isPage(path)) {
+        // let the browser fetch the linked files while the page is resolved, a browser drops the hints of a missing page
+        request.response()
+          .writeEarlyHints(HttpHeaders.headers().add("Link", preloadLinks))
+          .onFailure(err -> LOG.debug("Failed to send early hints", err));
+      }
+
+      if (vertx == null) {
+        bind(context.vertx());
+      }
+
       // Access fileSystem once here to be safe
       FileSystem fs = context.vertx().fileSystem();
 
@@ -161,6 +221,27 @@ public class StaticHandlerImpl implements StaticHandler {
     }
   }
 
+  /**
+   * Binds the handler to the Vert.x instance of its first request, the resources shared by the handlers belong to this
+   * instance.
+   */
+  private synchronized void bind(Vertx vertx) {
+    if (this.vertx == null) {
+      cache.bind(vertx);
+      if (watchFileChanges) {
+        watch((VertxInternal) vertx);
+      }
+      this.vertx = vertx;
+    }
+  }
+
+  /**
+   * @return whether the path is a directory or an html file, which early hints are sent for
+   */
+  private boolean isPage(String path) {
+    return path.endsWith("/") || "text/html".equals(MimeMapping.mimeTypeForExtension(getFileExtension(path)));
+  }
+
   /**
    * Can be called recursive for index pages
    */
@@ -186,7 +267,7 @@ public class StaticHandlerImpl implements StaticHandler {
     final CacheEntry entry = cache.get(file);
 
     if (entry != null) {
-      if ((filesReadOnly || !entry.isOutOfDate())) {
+      if ((filesReadOnly || watcher != null || !cache.isOutOfDate(entry))) {
         // a cache entry can mean 2 things:
         // 1. a miss
         // 2. a hit
@@ -200,15 +281,21 @@ public class StaticHandlerImpl implements StaticHandler {
           return;
         }
 
-        // a hit needs to be verified for freshness
-        final long lastModified = Utils.secondsFactor(entry.props.lastModifiedTime());
+        final String localFile = index ? file + indexPage : file;
 
-        if (Utils.fresh(context, lastModified)) {
-          context.response()
-            .setStatusCode(NOT_MODIFIED.code())
-            .end();
+        // a hit needs to be verified for freshness
+        if (notModified(context, localFile, entry.props)) {
           return;
         }
+
+        // a hit with a cached content does not need the file system at all
+        if (contentCache.enabled()) {
+          final Buffer content = contentCache.probe(localFile, entry.props);
+          if (content != null) {
+            sendStaticFile(context, fileSystem, localFile, entry.props, content);
+            return;
+          }
+        }
       }
     }
 
@@ -269,12 +356,11 @@ public class StaticHandlerImpl implements StaticHandler {
               if (cache.enabled()) {
                 cache.put(file, fprops);
 
-                if (Utils.fresh(context, Utils.secondsFactor(fprops.lastModifiedTime()))) {
-                  context.response().setStatusCode(NOT_MODIFIED.code()).end();
+                if (notModified(context, localFile, fprops)) {
                   return;
                 }
               }
-              sendFile(context, fileSystem, localFile, fprops);
+              sendStaticFile(context, fileSystem, localFile, fprops, null);
             }
           })
           .onFailure(err -> {
@@ -335,12 +421,172 @@ public class StaticHandlerImpl implements StaticHandler {
 
   private static final Pattern RANGE = Pattern.compile("^bytes=(\\d+)-(\\d*)$");
 
-  private void sendFile(RoutingContext context, FileSystem fileSystem, String file, FileProps fileProps) {
+  /**
+   * Ends the response with a 304 status when the client already has the current version of a file known by the cache,
+   * without accessing the file system.
+   *
+   * @return whether the response was ended, {@code false} if the file was modified or if it is not known yet
+   */
+  private boolean notModified(RoutingContext context, String file, FileProps props) {
+    String etag = null;
+    if (sendETag) {
+      // the entity tag of a precompressed variant is only known once the variant is selected
+      etag = precompressed ? null : etag(file, props);
+      if (etag == null) {
+        return false;
+      }
+    }
+    return notModified(context, props, etag);
+  }
+
+  private boolean notModified(RoutingContext context, FileProps props, String etag) {
+    if (etag != null) {
+      // a 304 response carries the validators of the response it replaces
+      context.response().headers().set(HttpHeaders.ETAG, etag);
+    }
+    if (Utils.fresh(context, Utils.secondsFactor(props.lastModifiedTime()))) {
+      context.response()
+        .setStatusCode(NOT_MODIFIED.code())
+        .end();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return the entity tag of a file, or {@code null} if it is a strong entity tag and the hash of the content of the
+   * file is not computed yet
+   */
+  private String etag(String file, FileProps props) {
+    if (strongETag) {
+      final String hash = cache.contentHash(file, props);
+      return hash == null ? null : strongETag(hash);
+    }
+    // the file properties do not guarantee byte-for-byte equality, this is a weak validator
+    return "W/\"" + Long.toHexString(props.size()) + "-" + Long.toHexString(props.lastModifiedTime()) + "\"";
+  }
+
+  private static String strongETag(String hash) {
+    return "\"" + hash + "\"";
+  }
+
+  /**
+   * Hashes the content of a file on a worker thread, the file is read in chunks of {@link #HASH_BUFFER_SIZE} bytes.
+   */
+  private static Future<String> hashContent(RoutingContext context, String file) {
+    final FileResolver fileResolver = ((VertxInternal) context.vertx()).fileResolver();
+    return context.vertx().executeBlocking(() -> {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      try (FileChannel channel = FileChannel.open(fileResolver.resolve(file).toPath(), StandardOpenOption.READ)) {
+        final ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+        while (channel.read(buffer) != -1) {
+          buffer.flip();
+          digest.update(buffer);
+          buffer.clear();
+        }
+      }
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+    }, false);
+  }
+
+  /**
+   * Sends a file, or the precompressed variant of the file accepted by the client when there is one.
+   *
+   * @param content the cached content of the file, {@code null} if not known
+   */
+  private void sendStaticFile(RoutingContext context, FileSystem fileSystem, String file, FileProps fileProps, Buffer content) {
+    if (precompressed) {
+      // the response depends on the accepted encodings
+      Utils.addToMapIfAbsent(context.response().headers(), HttpHeaders.VARY, "accept-encoding");
+      final List<String> encodings = Precompressed.acceptedEncodings(context.parsedHeaders().acceptEncoding());
+      if (!encodings.isEmpty()) {
+        sendVariant(context, fileSystem, file, fileProps, content, encodings, 0);
+        return;
+      }
+    }
+    sendFile(context, fileSystem, file, fileProps, content, null, null);
+  }
+
+  /**
+   * Looks for the precompressed variants of a file in order of preference, the file itself is sent when none exists.
+   */
+  private void sendVariant(RoutingContext context, FileSystem fileSystem, String file, FileProps fileProps, Buffer content, List<String> encodings, int index) {
+    if (index == encodings.size()) {
+      sendFile(context, fileSystem, file, fileProps, content, null, null);
+      return;
+    }
+
+    final String encoding = encodings.get(index);
+    final String variant = file + Precompressed.extension(encoding);
+
+    final CacheEntry entry = cache.get(variant);
+    if (entry != null && (filesReadOnly || watcher != null || !cache.isOutOfDate(entry))) {
+      if (entry.isMissing()) {
+        sendVariant(context, fileSystem, file, fileProps, content, encodings, index + 1);
+      } else {
+        sendFile(context, fileSystem, file, fileProps, null, variant, entry.props);
+      }
+      return;
+    }
+
+    fileSystem
+      .exists(variant)
+      .compose(exists -> exists ? getFileProps(fileSystem, variant) : Future.<FileProps>succeededFuture())
+      .onComplete(ar -> {
+        final FileProps props = ar.succeeded() ? ar.result() : null;
+        if (props == null || props.isDirectory()) {
+          cache.put(variant, null);
+          sendVariant(context, fileSystem, file, fileProps, content, encodings, index + 1);
+        } else {
+          cache.put(variant, props);
+          sendFile(context, fileSystem, file, fileProps, null, variant, props);
+        }
+      });
+  }
+
+  /**
+   * @param file the requested file
+   * @param fileProps the properties of the requested file
+   * @param content the cached content of the requested file, {@code null} if not known
+   * @param variant the precompressed variant of the file to send instead of the file, {@code null} if none
+   * @param variantProps the properties of the variant
+   */
+  private void sendFile(RoutingContext context, FileSystem fileSystem, String file, FileProps fileProps, Buffer content, String variant, FileProps variantProps) {
+    // the file and properties of the bytes sent
+    final String sentFile = variant == null ? file : variant;
+    final FileProps sentProps = variant == null ? fileProps : variantProps;
+
+    if (!sendETag) {
+      sendFile(context, fileSystem, file, fileProps, content, sentFile, sentProps, variant, null);
+      return;
+    }
+
+    final String etag = etag(sentFile, sentProps);
+    if (etag == null) {
+      // the hash of the content is computed once for each version of a file admitted by the cache, the response does
+      // not wait for it and is sent without tag meanwhile
+      cache.hashContent(sentFile, sentProps, () -> hashContent(context, sentFile));
+    }
+    sendFile(context, fileSystem, file, fileProps, content, sentFile, sentProps, variant, etag);
+  }
+
+  /**
+   * @param sentFile the file which content is sent, the requested file or its variant
+   * @param sentProps the properties of the sent file
+   * @param etag the entity tag of the sent file, {@code null} if not sent
+   */
+  private void sendFile(RoutingContext context, FileSystem fileSystem, String file, FileProps fileProps, Buffer content, String sentFile, FileProps sentProps, String variant, String etag) {
     final HttpServerRequest request = context.request();
     final HttpServerResponse response = context.response();
 
+    // without caching the last modified date is not sent, only the entity tag validates the file
+    if ((cache.enabled() || etag != null) && notModified(context, fileProps, etag)) {
+      return;
+    }
+
     Long offset = null;
     Long end = null;
+    ByteRanges ranges = null;
     MultiMap headers = null;
 
     if (response.closed())
@@ -350,7 +596,7 @@ public class StaticHandlerImpl implements StaticHandler {
       // check if the client is making a range request
       String range = request.getHeader("Range");
       // end byte is length - 1
-      end = fileProps.size() - 1;
+      end = sentProps.size() - 1;
 
       if (range != null) {
         Matcher m = RANGE.matcher(range);
@@ -360,7 +606,7 @@ public class StaticHandlerImpl implements StaticHandler {
             // offset cannot be empty
             offset = Long.parseLong(part);
             // offset must fall inside the limits of the file
-            if (offset < 0 || offset >= fileProps.size()) {
+            if (offset < 0 || offset >= sentProps.size()) {
               throw new IndexOutOfBoundsException();
             }
             // length can be empty
@@ -374,13 +620,25 @@ public class StaticHandlerImpl implements StaticHandler {
               }
             }
           } catch (NumberFormatException | IndexOutOfBoundsException e) {
-            context.response().putHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileProps.size());
-            if (!context.request().isEnded()) {
-              context.request().resume();
-            }
-            context.fail(REQUESTED_RANGE_NOT_SATISFIABLE.code());
+            rangeNotSatisfiable(context, sentProps);
             return;
           }
+        } else {
+          // several ranges or a suffix range, an invalid header or too many ranges are ignored
+          final long[] parsed = ByteRanges.parse(range, sentProps.size(), maxRanges);
+          if (parsed != null) {
+            if (parsed.length == 0) {
+              rangeNotSatisfiable(context, sentProps);
+              return;
+            }
+            if (parsed.length == 2) {
+              // the ranges were coalesced
+              offset = parsed[0];
+              end = parsed[1];
+            } else {
+              ranges = new ByteRanges(parsed, sentProps.size(), contentType(MimeMapping.mimeTypeForFilename(file)));
+            }
+          }
         }
       }
 
@@ -388,17 +646,34 @@ public class StaticHandlerImpl implements StaticHandler {
       headers = response.headers();
       headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
       // send the content length even for HEAD requests
-      headers.set(HttpHeaders.CONTENT_LENGTH, Long.toString(end + 1 - (offset == null ? 0 : offset)));
+      if (ranges != null) {
+        headers.set(HttpHeaders.CONTENT_LENGTH, Long.toString(ranges.contentLength()));
+      } else {
+        headers.set(HttpHeaders.CONTENT_LENGTH, Long.toString(end + 1 - (offset == null ? 0 : offset)));
+      }
+    }
+
+    writeCacheHeaders(request, fileProps, etag);
+
+    if (variant != null) {
+      response.putHeader(HttpHeaders.CONTENT_ENCODING, Precompressed.encoding(variant));
     }
 
-    writeCacheHeaders(request, fileProps);
+    if (ranges != null) {
+      // a multipart response, its parts describe their own content type
+      response
+        .setStatusCode(PARTIAL_CONTENT.code())
+        .putHeader(HttpHeaders.CONTENT_TYPE, ranges.contentType());
+    }
 
     if (request.method() == HttpMethod.HEAD) {
       response.end();
+    } else if (ranges != null) {
+      sendRanges(context, fileSystem, sentFile, content, ranges);
     } else {
       if (rangeSupport && offset != null) {
         // must return content range
-        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + end + "/" + fileProps.size());
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + end + "/" + sentProps.size());
         // return a partial response
         response.setStatusCode(PARTIAL_CONTENT.code());
 
@@ -414,18 +689,22 @@ public class StaticHandlerImpl implements StaticHandler {
           }
         }
 
-        response.sendFile(file, finalOffset, finalLength)
-          .onFailure(err -> {
-            if (!context.request().isEnded()) {
-              context.request().resume();
-            }
-            context.fail(err);
-          });
+        if (content != null) {
+          response.end(content.slice((int) finalOffset, (int) (finalOffset + finalLength)));
+        } else {
+          response.sendFile(sentFile, finalOffset, finalLength)
+            .onFailure(err -> {
+              if (!context.request().isEnded()) {
+                context.request().resume();
+              }
+              context.fail(err);
+            });
+        }
       } else {
         // guess content type
         String extension = getFileExtension(file);
         String contentType = MimeMapping.mimeTypeForExtension(extension);
-        if (compressedMediaTypes.contains(contentType) || compressedFileSuffixes.contains(extension)) {
+        if (variant == null && (compressedMediaTypes.contains(contentType) || compressedFileSuffixes.contains(extension))) {
           response.putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
         }
         if (contentType != null) {
@@ -437,7 +716,7 @@ public class StaticHandlerImpl implements StaticHandler {
         }
 
         // http2 pushing support
-        if (request.version() == HttpVersion.HTTP_2 && http2PushMappings != null) {
+        if (!sendEarlyHints && request.version() == HttpVersion.HTTP_2 && http2PushMappings != null) {
           for (Http2PushMapping dependency : http2PushMappings) {
             if (!dependency.isNoPush()) {
               final String dep = webRoot + "/" + dependency.getFilePath();
@@ -445,16 +724,17 @@ public class StaticHandlerImpl implements StaticHandler {
               getFileProps(fileSystem, dep)
                 .onSuccess(fprops -> {
                   // push
-                  writeCacheHeaders(request, fprops);
                   response
                     .push(HttpMethod.GET, "/" + dependency.getFilePath())
                     .onSuccess(res -> {
-                      final String depContentType = MimeMapping.mimeTypeForExtension(file);
+                      // the cache headers of the pushed file, not of the page
+                      writeCacheHeaders(request, res.headers(), fprops, null);
+                      final String depContentType = MimeMapping.mimeTypeForFilename(dependency.getFilePath());
                       if (depContentType != null) {
                         if (depContentType.startsWith("text")) {
-                          res.putHeader(HttpHeaders.CONTENT_TYPE, contentType + ";charset=" + defaultContentEncoding);
+                          res.putHeader(HttpHeaders.CONTENT_TYPE, depContentType + ";charset=" + defaultContentEncoding);
                         } else {
-                          res.putHeader(HttpHeaders.CONTENT_TYPE, contentType);
+                          res.putHeader(HttpHeaders.CONTENT_TYPE, depContentType);
                         }
                       }
                       res.sendFile(webRoot + "/" + dependency.getFilePath());
@@ -463,32 +743,122 @@ public class StaticHandlerImpl implements StaticHandler {
             }
           }
 
-        } else if (http2PushMappings != null) {
+        } else if (preloadLinks != null) {
           // Link preload when file push is not supported
-          List<String> links = new ArrayList<>();
-          for (Http2PushMapping dependency : http2PushMappings) {
-            final String dep = webRoot + "/" + dependency.getFilePath();
-            // get the file props
-            getFileProps(fileSystem, dep)
-              .onSuccess(fprops -> {
-                // push
-                writeCacheHeaders(request, fprops);
-                links
-                  .add("<" + dependency.getFilePath() + ">; rel=preload; as=" + dependency.getExtensionTarget() + (dependency.isNoPush() ? "; nopush" : ""));
-              });
+          response.putHeader("Link", preloadLinks);
+        }
+
+        if (content == null && contentCache.cacheable(sentProps)) {
+          content = contentCache.get(sentFile, sentProps);
+          if (content == null) {
+            sendAndCacheFile(context, fileSystem, sentFile, sentProps);
+            return;
           }
-          response.putHeader("Link", links);
         }
+        if (content != null) {
+          response.end(content);
+        } else {
+          response.sendFile(sentFile)
+            .onFailure(err -> {
+              if (!context.request().isEnded()) {
+                context.request().resume();
+              }
+              context.fail(err);
+            });
+        }
+      }
+    }
+  }
 
-        response.sendFile(file)
-          .onFailure(err -> {
-            if (!context.request().isEnded()) {
-              context.request().resume();
-            }
-            context.fail(err);
-          });
+  private static void rangeNotSatisfiable(RoutingContext context, FileProps props) {
+    context.response().putHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + props.size());
+    if (!context.request().isEnded()) {
+      context.request().resume();
+    }
+    context.fail(REQUESTED_RANGE_NOT_SATISFIABLE.code());
+  }
+
+  private String contentType(String mimeType) {
+    if (mimeType != null && mimeType.startsWith("text")) {
+      return mimeType + ";charset=" + defaultContentEncoding;
+    }
+    return mimeType;
+  }
+
+  /**
+   * Writes the parts of a multipart response, each part is sliced from the cached content or streamed from the file.
+   */
+  private void sendRanges(RoutingContext context, FileSystem fileSystem, String file, Buffer content, ByteRanges ranges) {
+    final HttpServerResponse response = context.response();
+
+    if (content != null) {
+      for (int i = 0; i < ranges.count(); i++) {
+        final int offset = (int) ranges.offset(i);
+        response.write(ranges.partHeader(i));
+        response.write(content.slice(offset, offset + (int) ranges.length(i)));
       }
+      response.end(ranges.trailer());
+      return;
     }
+
+    fileSystem
+      .open(file, new OpenOptions().setRead(true))
+      // the parts are read from the same file
+      .compose(asyncFile -> sendParts(response, asyncFile, ranges, 0).eventually(asyncFile::close))
+      .onSuccess(v -> response.end(ranges.trailer()))
+      .onFailure(err -> {
+        if (!context.request().isEnded()) {
+          context.request().resume();
+        }
+        if (response.headWritten()) {
+          // the response cannot be failed anymore
+          response.reset();
+        } else {
+          context.fail(err);
+        }
+      });
+  }
+
+  private static Future<Void> sendParts(HttpServerResponse response, AsyncFile file, ByteRanges ranges, int part) {
+    if (part == ranges.count()) {
+      return Future.succeededFuture();
+    }
+    response.write(ranges.partHeader(part));
+    return file
+      .setReadPos(ranges.offset(part))
+      .setReadLength(ranges.length(part))
+      .pipe()
+      .endOnComplete(false)
+      .to(response)
+      .compose(v -> sendParts(response, file, ranges, part + 1));
+  }
+
+  /**
+   * Reads a small file in memory to send it and keep it in the content cache.
+   */
+  private void sendAndCacheFile(RoutingContext context, FileSystem fileSystem, String file, FileProps fileProps) {
+    final HttpServerResponse response = context.response();
+    fileSystem.readFile(file)
+      .onFailure(err -> {
+        if (!context.request().isEnded()) {
+          context.request().resume();
+        }
+        context.fail(err);
+      })
+      .onSuccess(buffer -> {
+        if (buffer.length() != fileProps.size()) {
+          // the file changed while being read, the headers are no longer valid for this content
+          response.sendFile(file)
+            .onFailure(err -> {
+              if (!context.request().isEnded()) {
+                context.request().resume();
+              }
+              context.fail(err);
+            });
+        } else {
+          response.end(contentCache.put(file, fileProps, buffer));
+        }
+      });
   }
 
   @Override
@@ -518,6 +888,137 @@ public class StaticHandlerImpl implements StaticHandler {
     return this;
   }
 
+  @Override
+  public synchronized StaticHandler setWatchFileChanges(boolean watchFileChanges) {
+    this.watchFileChanges = watchFileChanges;
+    if (!watchFileChanges) {
+      if (watcherCloseHook != null) {
+        if (watcher != null) {
+          FileWatcher.unwatch(Paths.get(webRoot), watcher);
+        }
+        ((VertxInternal) vertx).removeCloseHook(watcherCloseHook);
+        watcher = null;
+        // a pending registration is undone once it completes
+        pendingWatcher = null;
+        watcherCloseHook = null;
+      }
+    } else if (vertx != null) {
+      watch((VertxInternal) vertx);
+    }
+    return this;
+  }
+
+  /**
+   * Starts watching the file changes, until the handler stops watching them or the Vert.x instance is closed.
+   * <p>
+   * The directory tree is registered on a worker thread, until then the cache entries expire after the cache entry
+   * timeout as if the files were not watched.
+   */
+  private void watch(VertxInternal vertx) {
+    if (watcherCloseHook != null) {
+      return;
+    }
+    final Path root = Paths.get(webRoot);
+    final FileWatcher.Listener listener = new FileWatcher.Listener() {
+      @Override
+      public void changed(Set<Path> paths) {
+        for (Path path : paths) {
+          invalidate(path);
+        }
+      }
+
+      @Override
+      public void overflow() {
+        cache.clear();
+      }
+    };
+    pendingWatcher = listener;
+    watcherCloseHook = completion -> {
+      synchronized (this) {
+        if (watcher == listener || pendingWatcher == listener) {
+          if (watcher == listener) {
+            FileWatcher.unwatch(root, listener);
+          }
+          watcher = null;
+          pendingWatcher = null;
+          watcherCloseHook = null;
+        }
+      }
+      completion.succeed();
+    };
+    vertx.addCloseHook(watcherCloseHook);
+    vertx.<Boolean>executeBlocking(() -> {
+      if (!Files.isDirectory(root)) {
+        return false;
+      }
+      FileWatcher.watch(root, listener);
+      return true;
+    }, false).onComplete(ar -> watched(vertx, root, listener, ar));
+  }
+
+  /**
+   * Completes the registration of the directory tree of the web root.
+   *
+   * @param ar whether the web root is a directory of the file system, which is then watched
+   */
+  private synchronized void watched(VertxInternal vertx, Path root, FileWatcher.Listener listener, AsyncResult<Boolean> ar) {
+    final boolean watched = ar.succeeded() && ar.result();
+    if (pendingWatcher != listener) {
+      // the handler stopped watching during the registration
+      if (watched) {
+        FileWatcher.unwatch(root, listener);
+      }
+      return;
+    }
+    pendingWatcher = null;
+    if (!watched) {
+      if (ar.failed()) {
+        LOG.warn("Cannot watch the file changes of " + webRoot + ", the cache entries expire after the cache entry timeout", ar.cause());
+      } else {
+        // classpath resources do not change
+        LOG.debug("The web root " + webRoot + " is not a directory of the file system, file changes are not watched");
+      }
+      vertx.removeCloseHook(watcherCloseHook);
+      watcherCloseHook = null;
+      return;
+    }
+    // the entries cached during the registration may have missed changes
+    cache.clear();
+    watcher = listener;
+  }
+
+  /**
+   * Removes the cache entries of a changed file.
+   *
+   * @param path the path of the file relative to the web root
+   */
+  private void invalidate(Path path) {
+    final String relative = path.toString().replace(File.separatorChar, '/');
+    if (relative.isEmpty()) {
+      // the web root itself
+      cache.clear();
+      return;
+    }
+    final String file = webRoot + "/" + relative;
+    cache.remove(file);
+    // a directory requested with a trailing slash
+    cache.remove(file + "/");
+    // the index page is cached with its directory
+    final int idx = relative.lastIndexOf('/');
+    cache.remove(idx == -1 ? webRoot + "/" : webRoot + "/" + relative.substring(0, idx + 1));
+  }
+
+  @Override
+  public StaticHandler setSharedCache(boolean sharedCache) {
+    cache.setShared(sharedCache ? webRoot : null);
+    return this;
+  }
+
+  @Override
+  public JsonObject getCacheStatistics() {
+    return cache.statistics();
+  }
+
   @Override
   public StaticHandler setDirectoryListing(boolean directoryListing) {
     this.directoryListing = directoryListing;
@@ -528,6 +1029,7 @@ public class StaticHandlerImpl implements StaticHandler {
   public StaticHandler setDirectoryTemplate(String directoryTemplate) {
     this.directoryTemplateResource = directoryTemplate;
     this.directoryTemplate = null;
+    listingCache.clear();
     return this;
   }
 
@@ -540,6 +1042,7 @@ public class StaticHandlerImpl implements StaticHandler {
   @Override
   public StaticHandler setIncludeHidden(boolean includeHidden) {
     this.includeHidden = includeHidden;
+    listingCache.clear();
     return this;
   }
 
@@ -570,10 +1073,22 @@ public class StaticHandlerImpl implements StaticHandler {
   public StaticHandler setHttp2PushMapping(List<Http2PushMapping> http2PushMap) {
     if (http2PushMap != null) {
       this.http2PushMappings = new ArrayList<>(http2PushMap);
+      List<String> links = new ArrayList<>();
+      for (Http2PushMapping dependency : http2PushMappings) {
+        links
+          .add("<" + dependency.getFilePath() + ">; rel=preload; as=" + dependency.getExtensionTarget() + (dependency.isNoPush() ? "; nopush" : ""));
+      }
+      this.preloadLinks = links;
     }
     return this;
   }
 
+  @Override
+  public StaticHandler setSendEarlyHints(boolean sendEarlyHints) {
+    this.sendEarlyHints = sendEarlyHints;
+    return this;
+  }
+
   @Override
   public StaticHandler skipCompressionForMediaTypes(Set<String> mediaTypes) {
     if (mediaTypes != null) {
@@ -614,6 +1129,50 @@ public class StaticHandlerImpl implements StaticHandler {
     return this;
   }
 
+  @Override
+  public StaticHandler setSendETag(boolean sendETag) {
+    this.sendETag = sendETag;
+    return this;
+  }
+
+  @Override
+  public StaticHandler setStrongETag(boolean strongETag) {
+    this.strongETag = strongETag;
+    return this;
+  }
+
+  @Override
+  public StaticHandler setMaxRanges(int maxRanges) {
+    if (maxRanges < 1) {
+      throw new IllegalArgumentException("maxRanges must be >= 1");
+    }
+    this.maxRanges = maxRanges;
+    return this;
+  }
+
+  @Override
+  public StaticHandler setServePrecompressed(boolean servePrecompressed) {
+    this.precompressed = servePrecompressed;
+    return this;
+  }
+
+  @Override
+  public StaticHandler setMaxContentCacheSize(long maxContentCacheSize) {
+    contentCache.setMaxSize(maxContentCacheSize);
+    return this;
+  }
+
+  @Override
+  public StaticHandler setMaxCachedFileSize(long maxCachedFileSize) {
+    contentCache.setMaxFileSize(maxCachedFileSize);
+    return this;
+  }
+
+  @Override
+  public JsonObject getContentCacheStatistics() {
+    return contentCache.statistics();
+  }
+
   private String getFile(RoutingContext context) {
     String offsetPath = Utils.pathOffset(context.normalizedPath(), context);
     offsetPath = RFC3986.decodeURIComponent(offsetPath, false);
@@ -633,7 +1192,20 @@ public class StaticHandlerImpl implements StaticHandler {
         }
       }
     }
-    this.webRoot = webRoot;
+    this.webRoot = normalizeRoot(webRoot);
+  }
+
+  /**
+   * @return the web root without trailing separator, the cache entries of the watched files are found by appending
+   * their path to the web root
+   */
+  private static String normalizeRoot(String webRoot) {
+    int end = webRoot.length();
+    // the separator of a file system root is kept
+    while (end > 1 && (webRoot.charAt(end - 1) == '/' || webRoot.charAt(end - 1) == File.separatorChar) && webRoot.charAt(end - 2) != ':') {
+      end--;
+    }
+    return webRoot.substring(0, end);
   }
 
   private static final Collection<MIMEHeader> DIRECTORY_LISTING_ACCEPT = Arrays.asList(
@@ -642,20 +1214,30 @@ public class StaticHandlerImpl implements StaticHandler {
     new ParsableMIMEValue("application/json").forceParse());
 
   private void sendDirectoryListing(FileSystem fileSystem, String dir, RoutingContext context) {
-    final HttpServerResponse response = context.response();
+    final int offset;
+    final int limit;
+    try {
+      offset = listingParam(context, "offset", 0);
+      limit = listingParam(context, "limit", Integer.MAX_VALUE);
+    } catch (IllegalArgumentException e) {
+      if (!context.request().isEnded()) {
+        context.request().resume();
+      }
+      context.fail(400, e);
+      return;
+    }
 
-    fileSystem.readDir(dir)
+    directoryListing(fileSystem, dir)
       .onFailure(err -> {
         if (!context.request().isEnded()) {
           context.request().resume();
         }
         context.fail(err);
       })
-      .onSuccess(list -> {
+      .onSuccess(listing -> {
 
         final List<MIMEHeader> accepts = context.parsedHeaders().accept();
         String accept = "text/plain";
-        String file;
 
         if (accepts != null) {
           MIMEHeader header = context.parsedHeaders()
@@ -666,89 +1248,81 @@ public class StaticHandlerImpl implements StaticHandler {
           }
         }
 
+        String normalizedDir = context.normalizedPath();
+        if (!normalizedDir.endsWith("/")) {
+          normalizedDir += "/";
+        }
+
+        final DirectoryListing.Format format;
         switch (accept) {
           case "text/html":
-            String normalizedDir = context.normalizedPath();
-            if (!normalizedDir.endsWith("/")) {
-              normalizedDir += "/";
-            }
-
-            StringBuilder files = new StringBuilder("<ul id=\"files\">");
-            Collections.sort(list);
-
-            for (String s : list) {
-              file = s.substring(s.lastIndexOf(File.separatorChar) + 1);
-              // skip dot files
-              if (!includeHidden && file.charAt(0) == '.') {
-                continue;
-              }
-              files.append("<li><a href=\"");
-              files.append(normalizedDir);
-              String encodedUriPath = Utils.encodeUriPath(file);
-              files.append(encodedUriPath);
-              files.append("\" title=\"");
-              String escapedHTML = Utils.escapeHTML(file);
-              files.append(escapedHTML);
-              files.append("\">");
-              files.append(escapedHTML);
-              files.append("</a></li>");
-            }
-
-            files.append("</ul>");
-
-            // link to parent dir
-            int slashPos = 0;
-            for (int i = normalizedDir.length() - 2; i > 0; i--) {
-              if (normalizedDir.charAt(i) == '/') {
-                slashPos = i;
-                break;
-              }
-            }
-
-            String parent = "<a href=\"" + normalizedDir.substring(0, slashPos + 1) + "\">..</a>";
-
-            response
-              .putHeader(HttpHeaders.CONTENT_TYPE, "text/html")
-              .end(
-                directoryTemplate(fileSystem).replace("{directory}", normalizedDir)
-                  .replace("{parent}", parent)
-                  .replace("{files}", files.toString()));
+            format = DirectoryListing.html(directoryTemplate(fileSystem), normalizedDir);
             break;
           case "application/json":
-            JsonArray json = new JsonArray();
-
-            for (String s : list) {
-              file = s.substring(s.lastIndexOf(File.separatorChar) + 1);
-              // skip dot files
-              if (!includeHidden && file.charAt(0) == '.') {
-                continue;
-              }
-              json.add(file);
-            }
-            response
-              .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
-              .end(json.encode());
+            format = DirectoryListing.JSON;
             break;
           default:
-            StringBuilder buffer = new StringBuilder();
-
-            for (String s : list) {
-              file = s.substring(s.lastIndexOf(File.separatorChar) + 1);
-              // skip dot files
-              if (!includeHidden && file.charAt(0) == '.') {
-                continue;
-              }
-              buffer.append(file);
-              buffer.append('\n');
-            }
+            format = DirectoryListing.TEXT;
+        }
 
-            response
-              .putHeader(HttpHeaders.CONTENT_TYPE, "text/plain")
-              .end(buffer.toString());
+        if (offset == 0 && limit >= listing.size()) {
+          // the whole listing is rendered once
+          context.response()
+            .putHeader(HttpHeaders.CONTENT_TYPE, format.contentType())
+            .end(listing.render(format, normalizedDir));
+        } else {
+          listing.send(context.response(), format, offset, limit);
         }
     });
   }
 
+  private static int listingParam(RoutingContext context, String name, int defaultValue) {
+    final String value = context.request().getParam(name);
+    if (value == null) {
+      return defaultValue;
+    }
+    final int n;
+    try {
+      n = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value);
+    }
+    if (n < 0) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value);
+    }
+    return n;
+  }
+
+  /**
+   * @return the listing of a directory, cached as long as the last modified time of the directory does not change
+   */
+  private Future<DirectoryListing> directoryListing(FileSystem fileSystem, String dir) {
+    if (!cache.enabled()) {
+      return fileSystem.readDir(dir)
+        .map(list -> DirectoryListing.create(list, 0, includeHidden));
+    }
+    return fileSystem.props(dir)
+      .compose(props -> {
+        final long lastModified = props.lastModifiedTime();
+        final DirectoryListing cached = listingCache.get(dir);
+        if (cached != null && cached.lastModified() == lastModified) {
+          return Future.succeededFuture(cached);
+        }
+        return fileSystem.readDir(dir)
+          .map(list -> {
+            final DirectoryListing listing = DirectoryListing.create(list, lastModified, includeHidden);
+            // a directory modified within the resolution of its last modified time could be modified again without
+            // changing it, such a listing is not cached
+            if (System.currentTimeMillis() - lastModified > 1000) {
+              listingCache.put(dir, listing);
+            } else {
+              listingCache.remove(dir);
+            }
+            return listing;
+          });
+      });
+  }
+
   private String getFileExtension(String file) {
     int li = file.lastIndexOf(46);
     if (li != -1 && li != file.length() - 1) {
@@ -762,15 +1336,29 @@ public class StaticHandlerImpl implements StaticHandler {
     final long createDate = System.currentTimeMillis();
 
     final FileProps props;
-    final long cacheEntryTimeout;
+    // the hash of the file content, computed on demand for strong entity tags
+    private Future<String> contentHash;
 
-    private CacheEntry(FileProps props, long cacheEntryTimeout) {
+    private CacheEntry(FileProps props) {
       this.props = props;
-      this.cacheEntryTimeout = cacheEntryTimeout;
     }
 
-    boolean isOutOfDate() {
-      return System.currentTimeMillis() - createDate > cacheEntryTimeout;
+    synchronized Future<String> contentHash() {
+      return contentHash;
+    }
+
+    synchronized void contentHash(Future<String> contentHash) {
+      this.contentHash = contentHash;
+    }
+
+    /**
+     * Starts hashing the content of the file, unless it is already hashed or being hashed.
+     */
+    synchronized void hashContent(Supplier<Future<String>> hasher) {
+      if (contentHash == null || contentHash.failed()) {
+        contentHash = hasher.get();
+        contentHash.onFailure(err -> LOG.debug("Failed to hash the content of a file, it is sent without entity tag", err));
+      }
     }
 
     public boolean isMissing() {
@@ -778,6 +1366,17 @@ public class StaticHandlerImpl implements StaticHandler {
     }
   }
 
+  /**
+   * The cache of the file properties shared by the handlers of a web root, kept in a local map.
+   */
+  private static final class SharedCache implements Shareable {
+    final TinyLfuCache<String, CacheEntry> cache;
+
+    private SharedCache(int maxCacheSize) {
+      this.cache = new TinyLfuCache<>(maxCacheSize);
+    }
+  }
+
   private static class FSTune {
     // These members are all related to auto tuning of synchronous vs asynchronous
     // file system access
@@ -842,10 +1441,90 @@ public class StaticHandlerImpl implements StaticHandler {
     }
   }
 
+  /**
+   * The precompressed variants of a file, found next to the file with the extension of their encoding.
+   */
+  private static final class Precompressed {
+
+    private static final List<String> ALL = Arrays.asList("br", "gzip");
+
+    /**
+     * @param acceptEncoding the sorted values of the {@code Accept-Encoding} header
+     * @return the encodings of the variants the client accepts, in order of preference
+     */
+    static List<String> acceptedEncodings(List<ParsedHeaderValue> acceptEncoding) {
+      if (acceptEncoding.isEmpty()) {
+        return Collections.emptyList();
+      }
+      final List<String> encodings = new ArrayList<>(2);
+      for (ParsedHeaderValue value : acceptEncoding) {
+        if (value.weight() < 0.001f) {
+          // q=0 refuses the encoding, the values are sorted so no other value is accepted
+          break;
+        }
+        final String encoding = value.value().toLowerCase(Locale.ROOT);
+        switch (encoding) {
+          case "br":
+          case "gzip":
+            if (!encodings.contains(encoding)) {
+              encodings.add(encoding);
+            }
+            break;
+          case "x-gzip":
+            if (!encodings.contains("gzip")) {
+              encodings.add("gzip");
+            }
+            break;
+          case "*":
+            for (String e : ALL) {
+              if (!encodings.contains(e) && !refused(acceptEncoding, e)) {
+                encodings.add(e);
+              }
+            }
+            break;
+        }
+      }
+      return encodings;
+    }
+
+    private static boolean refused(List<ParsedHeaderValue> acceptEncoding, String encoding) {
+      for (ParsedHeaderValue value : acceptEncoding) {
+        if (value.value().equalsIgnoreCase(encoding)) {
+          return value.weight() < 0.001f;
+        }
+      }
+      return false;
+    }
+
+    static String extension(String encoding) {
+      return "br".equals(encoding) ? ".br" : ".gz";
+    }
+
+    /**
+     * @return the encoding of a variant file
+     */
+    static String encoding(String variant) {
+      return variant.endsWith(".br") ? "br" : "gzip";
+    }
+  }
+
+  /**
+   * The cache of the file properties, the cache of a handler can be shared with the other handlers of the same web root
+   * and Vert.x instance. The shared caches are kept in a local map, they are released with their Vert.x instance.
+   */
   private static class FSPropsCache {
-    private Map<String, CacheEntry> propsCache;
-    private long cacheEntryTimeout = DEFAULT_CACHE_ENTRY_TIMEOUT;
+    // the local map of the shared caches by web root
+    private static final String SHARED_CACHES_MAP_NAME = "vertx-web.static.cache";
+
+    private volatile TinyLfuCache<String, CacheEntry> propsCache;
+    private volatile long cacheEntryTimeout = DEFAULT_CACHE_ENTRY_TIMEOUT;
     private int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+    // the web root of the shared cache, null if the cache is not shared
+    private String sharedRoot;
+    // the shared caches of the Vert.x instance of the handler, null until the handler serves its first request
+    private LocalMap<String, SharedCache> sharedCaches;
+    // whether the cache is the shared cache
+    private boolean shared;
 
     FSPropsCache() {
       setEnabled(DEFAULT_CACHING_ENABLED);
@@ -861,22 +1540,50 @@ public class StaticHandlerImpl implements StaticHandler {
       }
       if (this.maxCacheSize != maxCacheSize) {
         this.maxCacheSize = maxCacheSize;
-        // force the creation of the cache with the correct size
+        if (shared) {
+          // resize the shared cache in place, the other handlers keep using it
+          propsCache.setMaxSize(maxCacheSize);
+        } else {
+          // force the creation of the cache with the correct size
+          setEnabled(enabled(), true);
+        }
+      }
+    }
+
+    synchronized void setShared(String webRoot) {
+      if (!Objects.equals(sharedRoot, webRoot)) {
+        sharedRoot = webRoot;
         setEnabled(enabled(), true);
       }
     }
 
+    /**
+     * Binds the cache to the Vert.x instance of the handler, a cache shared with the other handlers can only be used
+     * once it is bound.
+     */
+    synchronized void bind(Vertx vertx) {
+      if (sharedCaches == null) {
+        sharedCaches = vertx.sharedData().getLocalMap(SHARED_CACHES_MAP_NAME);
+        if (sharedRoot != null) {
+          setEnabled(enabled(), true);
+        }
+      }
+    }
+
     void setEnabled(boolean enable) {
       setEnabled(enable, false);
     }
 
     private synchronized void setEnabled(boolean enable, boolean force) {
       if (force || enable != enabled()) {
-        if (propsCache != null) {
+        if (propsCache != null && !shared) {
           propsCache.clear();
         }
-        if (enable) {
-          propsCache = new LRUCache<>(maxCacheSize);
+        shared = enable && sharedRoot != null && sharedCaches != null;
+        if (shared) {
+          propsCache = sharedCaches.computeIfAbsent(sharedRoot, root -> new SharedCache(maxCacheSize)).cache;
+        } else if (enable) {
+          propsCache = new TinyLfuCache<>(maxCacheSize);
         } else {
           propsCache = null;
         }
@@ -890,13 +1597,29 @@ public class StaticHandlerImpl implements StaticHandler {
       this.cacheEntryTimeout = timeout;
     }
 
+    /**
+     * @return whether an entry is older than the cache entry timeout of this handler
+     */
+    boolean isOutOfDate(CacheEntry entry) {
+      return System.currentTimeMillis() - entry.createDate > cacheEntryTimeout;
+    }
+
+    void clear() {
+      final TinyLfuCache<String, CacheEntry> propsCache = this.propsCache;
+      if (propsCache != null) {
+        propsCache.clear();
+      }
+    }
+
     private void remove(String path) {
+      final TinyLfuCache<String, CacheEntry> propsCache = this.propsCache;
       if (propsCache != null) {
         propsCache.remove(path);
       }
     }
 
     CacheEntry get(String key) {
+      final TinyLfuCache<String, CacheEntry> propsCache = this.propsCache;
       if (propsCache != null) {
         return propsCache.get(key);
       }
@@ -905,10 +1628,55 @@ public class StaticHandlerImpl implements StaticHandler {
     }
 
     void put(String path, FileProps props) {
+      final TinyLfuCache<String, CacheEntry> propsCache = this.propsCache;
       if (propsCache != null) {
-        CacheEntry now = new CacheEntry(props, cacheEntryTimeout);
+        CacheEntry now = new CacheEntry(props);
+        CacheEntry previous = propsCache.peek(path);
+        if (previous != null && sameVersion(previous.props, props)) {
+          // the file did not change, the hash of its content, computed or being computed, is still valid
+          now.contentHash(previous.contentHash());
+        }
         propsCache.put(path, now);
       }
     }
+
+    /**
+     * @return the hash of the content of a file, or {@code null} if not computed yet for the given version of the file
+     */
+    String contentHash(String path, FileProps props) {
+      final TinyLfuCache<String, CacheEntry> propsCache = this.propsCache;
+      if (propsCache != null) {
+        CacheEntry entry = propsCache.peek(path);
+        if (entry != null && sameVersion(entry.props, props)) {
+          final Future<String> hash = entry.contentHash();
+          return hash != null && hash.succeeded() ? hash.result() : null;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Starts hashing the content of the given version of a file, at most once at a time, the hash is kept with the
+     * cached properties of the file. Nothing is hashed if the file is not cached, its hash would be computed again on
+     * each request.
+     */
+    void hashContent(String path, FileProps props, Supplier<Future<String>> hasher) {
+      final TinyLfuCache<String, CacheEntry> propsCache = this.propsCache;
+      if (propsCache != null) {
+        CacheEntry entry = propsCache.peek(path);
+        if (entry != null && sameVersion(entry.props, props)) {
+          entry.hashContent(hasher);
+        }
+      }
+    }
+
+    JsonObject statistics() {
+      final TinyLfuCache<String, CacheEntry> propsCache = this.propsCache;
+      return propsCache != null ? propsCache.statistics() : new JsonObject();
+    }
+
+    private static boolean sameVersion(FileProps a, FileProps b) {
+      return a != null && b != null && a.lastModifiedTime() == b.lastModifiedTime() && a.size() == b.size();
+    }
   }
 }
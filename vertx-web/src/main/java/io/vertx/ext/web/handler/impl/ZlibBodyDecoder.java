@@ -0,0 +1,222 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.handler.impl;
+
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.handler.BodyDecoder;
+
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Inflates a {@code gzip} or {@code deflate} encoded body.
+ * <p>
+ * The body is inflated in steps of {@link #BUFFER_SIZE} bytes, so the inflation of a chunk can stop as soon as the
+ * body is too large, whatever the compression ratio of the chunk.
+ */
+public final class ZlibBodyDecoder implements BodyDecoder {
+
+  private static final int BUFFER_SIZE = 8192;
+  // a larger gzip header is not a header sent by an actual client
+  private static final int MAX_HEADER_LENGTH = 8192;
+  private static final int GZIP_TRAILER_LENGTH = 8;
+
+  // gzip header flags
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+
+  private final boolean gzip;
+  private final byte[] output = new byte[BUFFER_SIZE];
+  // the bytes received before the header is complete
+  private Buffer header = Buffer.buffer();
+  // created once the header is read
+  private Inflater inflater;
+  private CRC32 crc;
+  private Buffer trailer;
+
+  /**
+   * @param gzip whether the body is in the gzip format, otherwise in the zlib or raw deflate format
+   */
+  public ZlibBodyDecoder(boolean gzip) {
+    this.gzip = gzip;
+  }
+
+  @Override
+  public Buffer decode(Buffer chunk, long maxLength) {
+    final Buffer decoded = Buffer.buffer();
+    byte[] input;
+    int offset;
+    if (inflater == null) {
+      header.appendBuffer(chunk);
+      offset = start(header);
+      if (offset == -1) {
+        // wait for the rest of the header
+        return decoded;
+      }
+      input = header.getBytes();
+      header = null;
+    } else if (inflater.finished()) {
+      endOfData(chunk.getBytes(), 0);
+      return decoded;
+    } else {
+      input = chunk.getBytes();
+      offset = 0;
+    }
+    inflater.setInput(input, offset, input.length - offset);
+    while (!inflater.finished()) {
+      final int length;
+      try {
+        length = inflater.inflate(output);
+      } catch (DataFormatException e) {
+        throw invalid(e.getMessage());
+      }
+      if (length == 0) {
+        if (inflater.needsDictionary()) {
+          throw invalid("a preset dictionary is required");
+        }
+        // the chunk is consumed
+        break;
+      }
+      if (crc != null) {
+        crc.update(output, 0, length);
+      }
+      decoded.appendBytes(output, 0, length);
+      if (decoded.length() > maxLength) {
+        // the body is too large, the rest of the chunk is not inflated
+        return decoded;
+      }
+    }
+    if (inflater.finished()) {
+      endOfData(input, input.length - inflater.getRemaining());
+    }
+    return decoded;
+  }
+
+  @Override
+  public void end() {
+    if (inflater == null || !inflater.finished()) {
+      throw invalid("truncated body");
+    }
+    if (gzip) {
+      if (trailer == null || trailer.length() < GZIP_TRAILER_LENGTH) {
+        throw invalid("truncated body");
+      }
+      if (trailer.getUnsignedIntLE(0) != crc.getValue()
+        || trailer.getUnsignedIntLE(4) != (inflater.getBytesWritten() & 0xFFFFFFFFL)) {
+        throw invalid("checksum mismatch");
+      }
+    }
+  }
+
+  @Override
+  public void release() {
+    if (inflater != null) {
+      // frees the native memory of the inflater, ending it again has no effect
+      inflater.end();
+    }
+  }
+
+  /**
+   * Creates the inflater once the header is received.
+   *
+   * @return the length of the header, {@code -1} if the header is incomplete
+   */
+  private int start(Buffer header) {
+    if (gzip) {
+      final int length = gzipHeaderLength(header);
+      if (length == -1) {
+        if (header.length() > MAX_HEADER_LENGTH) {
+          throw invalid("gzip header too large");
+        }
+        return -1;
+      }
+      inflater = new Inflater(true);
+      crc = new CRC32();
+      return length;
+    }
+    if (header.length() < 2) {
+      return -1;
+    }
+    // the deflate content encoding is the zlib format, yet some clients send a raw deflate stream
+    final int cmf = header.getUnsignedByte(0);
+    final int flg = header.getUnsignedByte(1);
+    final boolean zlib = (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+    inflater = new Inflater(!zlib);
+    // the zlib header is read by the inflater
+    return 0;
+  }
+
+  private static int gzipHeaderLength(Buffer header) {
+    if (header.length() < 10) {
+      return -1;
+    }
+    if (header.getUnsignedByte(0) != 0x1F || header.getUnsignedByte(1) != 0x8B || header.getUnsignedByte(2) != 8) {
+      throw invalid("not in gzip format");
+    }
+    final int flags = header.getUnsignedByte(3);
+    int length = 10;
+    if ((flags & FEXTRA) != 0) {
+      if (header.length() < length + 2) {
+        return -1;
+      }
+      length += 2 + header.getUnsignedShortLE(length);
+    }
+    if ((flags & FNAME) != 0) {
+      length = skipZeroTerminated(header, length);
+    }
+    if (length != -1 && (flags & FCOMMENT) != 0) {
+      length = skipZeroTerminated(header, length);
+    }
+    if (length != -1 && (flags & FHCRC) != 0) {
+      length += 2;
+    }
+    return length == -1 || header.length() < length ? -1 : length;
+  }
+
+  private static int skipZeroTerminated(Buffer header, int from) {
+    for (int i = from; i < header.length(); i++) {
+      if (header.getByte(i) == 0) {
+        return i + 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Handles the bytes received after the end of the compressed data, only a gzip trailer is expected.
+   */
+  private void endOfData(byte[] input, int offset) {
+    final int remaining = input.length - offset;
+    if (remaining == 0) {
+      return;
+    }
+    if (!gzip || (trailer == null ? 0 : trailer.length()) + remaining > GZIP_TRAILER_LENGTH) {
+      throw invalid("unexpected data after the end of the compressed data");
+    }
+    if (trailer == null) {
+      trailer = Buffer.buffer(GZIP_TRAILER_LENGTH);
+    }
+    trailer.appendBytes(input, offset, remaining);
+  }
+
+  private static VertxException invalid(String reason) {
+    return new VertxException("Invalid compressed body: " + reason, true);
+  }
+}
@@ -17,8 +17,12 @@
 package io.vertx.ext.web.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpServerFileUpload;
+import io.vertx.core.streams.Pipe;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.FileUpload;
 
 /**
@@ -30,12 +34,78 @@ public class FileUploadImpl implements FileUpload {
   private final String uploadedFileName;
   private final HttpServerFileUpload upload;
 
+  // the content of an upload received in memory
+  private Buffer content;
+  // the transfer of an upload written to a stream
+  private Pipe<Buffer> pipe;
+  private boolean started;
+  private boolean completed;
+  private boolean cancelled;
+
   public FileUploadImpl(FileSystem fs, String uploadedFileName, HttpServerFileUpload upload) {
     this.fs = fs;
     this.uploadedFileName = uploadedFileName;
     this.upload = upload;
   }
 
+  /**
+   * Creates an upload that is not written to a file, it is either received in memory or written to a stream.
+   */
+  public FileUploadImpl(HttpServerFileUpload upload) {
+    this(null, null, upload);
+  }
+
+  /**
+   * Streams the upload to its file.
+   */
+  public Future<Void> streamToFileSystem() {
+    if (cancelled) {
+      return Future.failedFuture("The upload was cancelled");
+    }
+    started = true;
+    return track(upload.streamToFileSystem(uploadedFileName));
+  }
+
+  /**
+   * Receives the upload in memory, the upload must have been paused.
+   */
+  public Future<Void> receiveInMemory() {
+    final Promise<Void> promise = Promise.promise();
+    final Buffer received = Buffer.buffer();
+    started = true;
+    upload
+      .exceptionHandler(promise::tryFail)
+      .endHandler(v -> {
+        if (!cancelled) {
+          content = received;
+        }
+        promise.tryComplete();
+      })
+      .handler(chunk -> {
+        if (!cancelled) {
+          received.appendBuffer(chunk);
+        }
+      })
+      .resume();
+    return track(promise.future());
+  }
+
+  /**
+   * Writes the upload to a stream, the stream is ended once the upload is written.
+   */
+  public Future<Void> streamTo(WriteStream<Buffer> stream) {
+    if (cancelled) {
+      return Future.failedFuture("The upload was cancelled");
+    }
+    started = true;
+    pipe = upload.pipe();
+    return track(pipe.to(stream));
+  }
+
+  private Future<Void> track(Future<Void> future) {
+    return future.onComplete(ar -> completed = true);
+  }
+
   @Override
   public String name() {
     return upload.name();
@@ -71,14 +141,36 @@ public class FileUploadImpl implements FileUpload {
     return upload.charset();
   }
 
+  @Override
+  public Buffer content() {
+    return content;
+  }
+
   @Override
   public boolean cancel() {
-    return upload.cancelStreamToFileSystem();
+    if (uploadedFileName != null && started) {
+      return upload.cancelStreamToFileSystem();
+    }
+    if (completed) {
+      return false;
+    }
+    cancelled = true;
+    content = null;
+    if (pipe != null) {
+      // the stream is not ended
+      pipe.close();
+    }
+    return true;
   }
 
   @Override
   public Future<Void> delete() {
     String uploadedFileName = uploadedFileName();
+    if (uploadedFileName == null) {
+      // release the content, a stream owns what was written to it
+      content = null;
+      return Future.succeededFuture();
+    }
     return fs.delete(uploadedFileName);
   }
 }
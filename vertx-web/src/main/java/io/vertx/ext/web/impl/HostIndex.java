@@ -0,0 +1,156 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import java.util.*;
+
+/**
+ * An index of a list of routes by virtual host. Given the host name of a request, the index selects the routes that
+ * can possibly match it, in route order.
+ * <p>
+ * Routes with an exact host name are found with a hash lookup, routes with a wildcard host name suffix
+ * ({@code *.example.com}) with a hash lookup of each domain suffix of the host name. Routes without virtual host or
+ * with a pattern that is neither are always selected, every selected route is still verified by
+ * {@link RouteState#matches(RoutingContextImplBase, String, boolean)}.
+ * <p>
+ * This class is immutable and thread-safe
+ */
+final class HostIndex {
+
+  private static final int[] EMPTY = new int[0];
+
+  // routes selected whatever the host name
+  private final int[] unindexed;
+  // routes by exact host name
+  private final Map<String, int[]> hosts = new HashMap<>();
+  // routes by host name suffix starting with a '.'
+  private final Map<String, int[]> domains = new HashMap<>();
+  // other host name suffixes, e.g. *example.com, matched one by one
+  private final List<String> suffixes = new ArrayList<>();
+  private final List<int[]> suffixRoutes = new ArrayList<>();
+
+  private HostIndex(RouteState[] routes) {
+    int[] unindexed = EMPTY;
+    for (int i = 0; i < routes.length; i++) {
+      final VirtualHost virtualHost = routes[i].getVirtualHost();
+      if (virtualHost == null) {
+        unindexed = append(unindexed, i);
+      } else if (virtualHost.host() != null) {
+        hosts.merge(virtualHost.host(), new int[] { i }, HostIndex::concat);
+      } else if (virtualHost.suffix() != null && virtualHost.suffix().startsWith(".")) {
+        domains.merge(virtualHost.suffix(), new int[] { i }, HostIndex::concat);
+      } else if (virtualHost.suffix() != null) {
+        final int idx = suffixes.indexOf(virtualHost.suffix());
+        if (idx == -1) {
+          suffixes.add(virtualHost.suffix());
+          suffixRoutes.add(new int[] { i });
+        } else {
+          suffixRoutes.set(idx, append(suffixRoutes.get(idx), i));
+        }
+      } else {
+        unindexed = append(unindexed, i);
+      }
+    }
+    this.unindexed = unindexed;
+  }
+
+  /**
+   * @return the index of the routes, or {@code null} if no route has an indexable virtual host
+   */
+  static HostIndex create(RouteState[] routes) {
+    for (RouteState route : routes) {
+      final VirtualHost virtualHost = route.getVirtualHost();
+      if (virtualHost != null && (virtualHost.host() != null || virtualHost.suffix() != null)) {
+        return new HostIndex(routes);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param hostName the lower case host name of the request, {@code null} if the request has no authority
+   * @param selection the indexes of the routes already selected in order, {@code null} for all routes
+   * @return the indexes of the candidate routes among the selection, in order, a new array when the selection is not
+   * {@code null} or the host name selects indexed routes
+   */
+  int[] select(String hostName, int[] selection) {
+    if (hostName == null) {
+      // only the routes without indexed virtual host can match
+      return intersect(unindexed, selection);
+    }
+
+    int[] candidates = unindexed;
+    final int[] exact = hosts.get(hostName);
+    if (exact != null) {
+      candidates = concat(candidates, exact);
+    }
+    if (!domains.isEmpty()) {
+      for (int i = hostName.indexOf('.'); i != -1; i = hostName.indexOf('.', i + 1)) {
+        final int[] domain = domains.get(hostName.substring(i));
+        if (domain != null) {
+          candidates = concat(candidates, domain);
+        }
+      }
+    }
+    for (int i = 0; i < suffixes.size(); i++) {
+      if (hostName.endsWith(suffixes.get(i))) {
+        candidates = concat(candidates, suffixRoutes.get(i));
+      }
+    }
+    if (candidates != unindexed) {
+      // a route is registered once, so positions are unique, restore the route order
+      Arrays.sort(candidates);
+    }
+    return intersect(candidates, selection);
+  }
+
+  /**
+   * @return the values of both sorted arrays
+   */
+  private static int[] intersect(int[] candidates, int[] selection) {
+    if (selection == null) {
+      return candidates;
+    }
+    final int[] result = new int[Math.min(candidates.length, selection.length)];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < candidates.length && j < selection.length) {
+      if (candidates[i] < selection[j]) {
+        i++;
+      } else if (candidates[i] > selection[j]) {
+        j++;
+      } else {
+        result[size++] = candidates[i];
+        i++;
+        j++;
+      }
+    }
+    return size == result.length ? result : Arrays.copyOf(result, size);
+  }
+
+  private static int[] append(int[] array, int value) {
+    int[] copy = Arrays.copyOf(array, array.length + 1);
+    copy[array.length] = value;
+    return copy;
+  }
+
+  private static int[] concat(int[] a, int[] b) {
+    int[] copy = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, copy, a.length, b.length);
+    return copy;
+  }
+}
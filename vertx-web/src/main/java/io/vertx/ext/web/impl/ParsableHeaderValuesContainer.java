@@ -1,6 +1,8 @@
 package io.vertx.ext.web.impl;
 
 import io.vertx.codegen.annotations.Nullable;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.LanguageHeader;
 import io.vertx.ext.web.MIMEHeader;
 import io.vertx.ext.web.ParsedHeaderValue;
@@ -11,15 +13,26 @@ import java.util.List;
 
 public class ParsableHeaderValuesContainer implements ParsedHeaderValues {
 
-  private final List<MIMEHeader> accept;
-  private final List<ParsedHeaderValue> acceptCharset;
-  private final List<ParsedHeaderValue> acceptEncoding;
-  private final List<LanguageHeader> acceptLanguage;
-  private final ParsableMIMEValue contentType;
+  // the request whose headers are parsed on first access, null when the values are given upfront
+  private final HttpServerRequest request;
+  private List<MIMEHeader> accept;
+  private List<ParsedHeaderValue> acceptCharset;
+  private List<ParsedHeaderValue> acceptEncoding;
+  private List<LanguageHeader> acceptLanguage;
+  private ParsableMIMEValue contentType;
+
+  /**
+   * Creates a container parsing the headers of the given request lazily, each header is parsed the first time it is
+   * accessed.
+   */
+  public ParsableHeaderValuesContainer(HttpServerRequest request) {
+    this.request = request;
+  }
 
   public ParsableHeaderValuesContainer(
       List<MIMEHeader> accept, List<ParsedHeaderValue> acceptCharset, List<ParsedHeaderValue> acceptEncoding,
       List<LanguageHeader> acceptLanguage, ParsableMIMEValue contentType) {
+    this.request = null;
     this.accept = accept;
     this.acceptCharset = acceptCharset;
     this.acceptEncoding = acceptEncoding;
@@ -29,22 +42,37 @@ public class ParsableHeaderValuesContainer implements ParsedHeaderValues {
 
   @Override
   public List<MIMEHeader> accept() {
+    if (accept == null && request != null) {
+      accept = ParsedHeaderCache.ACCEPT.get(request.getHeader(HttpHeaders.ACCEPT));
+    }
     return accept;
   }
   @Override
   public List<ParsedHeaderValue> acceptCharset() {
+    if (acceptCharset == null && request != null) {
+      acceptCharset = ParsedHeaderCache.ACCEPT_CHARSET.get(request.getHeader(HttpHeaders.ACCEPT_CHARSET));
+    }
     return acceptCharset;
   }
   @Override
   public List<ParsedHeaderValue> acceptEncoding() {
+    if (acceptEncoding == null && request != null) {
+      acceptEncoding = ParsedHeaderCache.ACCEPT_ENCODING.get(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
     return acceptEncoding;
   }
   @Override
   public List<LanguageHeader> acceptLanguage() {
+    if (acceptLanguage == null && request != null) {
+      acceptLanguage = ParsedHeaderCache.ACCEPT_LANGUAGE.get(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE));
+    }
     return acceptLanguage;
   }
   @Override
   public ParsableMIMEValue contentType() {
+    if (contentType == null && request != null) {
+      contentType = ParsedHeaderCache.CONTENT_TYPE.get(request.getHeader(HttpHeaders.CONTENT_TYPE));
+    }
     return contentType;
   }
 
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.ext.web.LanguageHeader;
+import io.vertx.ext.web.MIMEHeader;
+import io.vertx.ext.web.ParsedHeaderValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of parsed header values keyed by the raw header value. Clients send the same few values for the
+ * content negotiation headers over and over, so a value is parsed once and then shared by all the requests carrying it.
+ * <p>
+ * Values are fully parsed before being cached and are never modified afterwards. When the cache is full it is
+ * cleared, values longer than {@link #MAX_VALUE_LENGTH} are never cached.
+ * <p>
+ * This class is thread-safe
+ */
+final class ParsedHeaderCache<V> {
+
+  static final int MAX_SIZE = Integer.getInteger("io.vertx.web.router.parsed-header-cache-size", 256);
+  static final int MAX_VALUE_LENGTH = 1024;
+
+  static final ParsedHeaderCache<List<MIMEHeader>> ACCEPT =
+    new ParsedHeaderCache<>(value -> parseList(value, ParsableMIMEValue::new));
+  static final ParsedHeaderCache<List<ParsedHeaderValue>> ACCEPT_CHARSET =
+    new ParsedHeaderCache<>(value -> parseList(value, ParsableHeaderValue::new));
+  static final ParsedHeaderCache<List<ParsedHeaderValue>> ACCEPT_ENCODING =
+    new ParsedHeaderCache<>(value -> parseList(value, ParsableHeaderValue::new));
+  static final ParsedHeaderCache<List<LanguageHeader>> ACCEPT_LANGUAGE =
+    new ParsedHeaderCache<>(value -> parseList(value, ParsableLanguageValue::new));
+  static final ParsedHeaderCache<ParsableMIMEValue> CONTENT_TYPE =
+    new ParsedHeaderCache<>(value -> new ParsableMIMEValue(value).forceParse());
+
+  private final Map<String, V> cache = new ConcurrentHashMap<>();
+  private final Function<String, V> parser;
+
+  private ParsedHeaderCache(Function<String, V> parser) {
+    this.parser = parser;
+  }
+
+  /**
+   * @param value the raw header value, {@code null} when the header is absent
+   * @return the parsed value
+   */
+  V get(String value) {
+    if (value == null) {
+      value = "";
+    }
+    V parsed = cache.get(value);
+    if (parsed == null) {
+      parsed = parser.apply(value);
+      if (value.length() <= MAX_VALUE_LENGTH && MAX_SIZE > 0) {
+        if (cache.size() >= MAX_SIZE) {
+          cache.clear();
+        }
+        cache.put(value, parsed);
+      }
+    }
+    return parsed;
+  }
+
+  private static <T extends ParsedHeaderValue> List<T> parseList(String value, Function<String, T> factory) {
+    final List<T> values = HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(value, factory));
+    if (values.isEmpty()) {
+      return Collections.emptyList();
+    }
+    for (T header : values) {
+      // sorting does not parse single values, and the cached values must not be parsed concurrently
+      ((ParsableHeaderValue) header).forceParse();
+    }
+    return Collections.unmodifiableList(new ArrayList<>(values));
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The segments of a route path, e.g.: {@code /users/:id/orders/*} is split into {@code users}, {@code :id} and
+ * {@code orders} as a non exact template.
+ * <p>
+ * Templates are only created for paths declared with {@link io.vertx.ext.web.Route#path(String)}, routes declared with
+ * a regular expression have no template.
+ * <p>
+ * When every parameter of the path spans a whole segment, the template can match a request path and locate the
+ * parameter values by scanning the path, like the regular expression generated for the route would, e.g.:
+ * {@code /users/:id/orders/:orderId} is the sequence {@code /users/}, parameter, {@code /orders/}, parameter, empty
+ * literal. Parameters mixed with literals in a segment, e.g.: {@code /:file.json}, require the regular expression.
+ * <p>
+ * This class is immutable and thread-safe
+ */
+final class PathTemplate {
+
+  // characters that are not escaped when a path with parameters is converted to a regular expression
+  private static final String RE_OPERATORS = "\\^[]{}|?*";
+
+  private final String[] segments;
+  private final boolean[] params;
+  private final boolean exact;
+  private final boolean partial;
+  private final boolean endsWithSlash;
+  // the literals surrounding the parameters, null if the parameters cannot be matched by scanning the path
+  private final String[] literals;
+
+  private PathTemplate(String[] segments, boolean[] params, boolean exact, boolean partial, boolean endsWithSlash, String[] literals) {
+    this.segments = segments;
+    this.params = params;
+    this.exact = exact;
+    this.partial = partial;
+    this.endsWithSlash = endsWithSlash;
+    this.literals = literals;
+  }
+
+  /**
+   * Parses a route path.
+   *
+   * @param path the route path, without the final wildcard
+   * @param exact {@code false} when the route path ended with a wildcard
+   * @param param the pattern of a segment made of a single parameter, {@code null} when the path declares no parameters
+   * @return the template or {@code null} if the path cannot be represented as a sequence of segments (e.g.: it
+   * contains regular expression operators)
+   */
+  static PathTemplate parse(String path, boolean exact, Pattern param) {
+    final boolean withParams = param != null;
+    if (withParams) {
+      for (int i = 0; i < path.length(); i++) {
+        if (RE_OPERATORS.indexOf(path.charAt(i)) != -1) {
+          return null;
+        }
+      }
+    }
+
+    final List<String> segments = new ArrayList<>();
+    final int len = path.length();
+    int start = 1;
+    while (start < len) {
+      int end = path.indexOf('/', start);
+      if (end == -1) {
+        end = len;
+      }
+      segments.add(path.substring(start, end));
+      start = end + 1;
+    }
+
+    final boolean[] params = new boolean[segments.size()];
+    if (withParams) {
+      for (int i = 0; i < params.length; i++) {
+        params[i] = segments.get(i).indexOf(':') != -1;
+      }
+    }
+
+    final boolean endsWithSlash = path.charAt(len - 1) == '/';
+
+    String[] literals = null;
+    if (withParams) {
+      List<String> list = new ArrayList<>();
+      final StringBuilder literal = new StringBuilder();
+      for (int i = 0; i < params.length; i++) {
+        final String segment = segments.get(i);
+        literal.append('/');
+        if (!params[i]) {
+          literal.append(segment);
+        } else if (segment.indexOf('$') == -1 && param.matcher(segment).matches()) {
+          // '$' is escaped before the parameters are extracted, it never belongs to a parameter name
+          list.add(literal.toString());
+          literal.setLength(0);
+        } else {
+          // parameter mixed with literals
+          list = null;
+          break;
+        }
+      }
+      if (list != null) {
+        if (endsWithSlash) {
+          literal.append('/');
+        }
+        list.add(literal.toString());
+        literals = list.toArray(new String[0]);
+      }
+    }
+
+    // a non exact path that doesn't end with a slash matches any request path starting with it, so the last segment
+    // is only a prefix of the request segment, e.g.: "/foo*" matches "/foobar"
+    final boolean partial = !exact && !endsWithSlash && !segments.isEmpty();
+
+    return new PathTemplate(segments.toArray(new String[0]), params, exact, partial, endsWithSlash, literals);
+  }
+
+  int length() {
+    return segments.length;
+  }
+
+  String segment(int index) {
+    return segments[index];
+  }
+
+  /**
+   * @return {@code true} if the segment at the given index declares a parameter and therefore matches any request
+   * segment
+   */
+  boolean isParam(int index) {
+    return params[index];
+  }
+
+  boolean isExact() {
+    return exact;
+  }
+
+  /**
+   * @return {@code true} if the last segment is only a prefix of the request segment
+   */
+  boolean isPartial() {
+    return partial;
+  }
+
+  /**
+   * @return {@code true} if the parameters can be matched by {@link #match(String, int)}
+   */
+  boolean hasSegmentParams() {
+    return literals != null;
+  }
+
+  /**
+   * @return the number of parameters matched by {@link #match(String, int)}
+   */
+  int params() {
+    return literals.length - 1;
+  }
+
+  /**
+   * Matches a request path, the same way the regular expression {@code /users/(?<p0>[^/]+)/?} generated for the
+   * route {@code /users/:id} would. This method does not allocate.
+   *
+   * @param path the request path
+   * @param start the offset of the path relative to the router
+   * @return the end of the match, i.e.: the start of the rest of the path for a non exact template, or {@code -1}
+   */
+  int match(String path, int start) {
+    final int last = literals.length - 1;
+    int pos = start;
+    for (int i = 0; i < last; i++) {
+      final String literal = literals[i];
+      if (!path.startsWith(literal, pos)) {
+        return -1;
+      }
+      pos += literal.length();
+      final int end = segmentEnd(path, pos);
+      if (end == pos) {
+        // parameters are never empty
+        return -1;
+      }
+      pos = end;
+    }
+    final String literal = literals[last];
+    if (!path.startsWith(literal, pos)) {
+      return -1;
+    }
+    pos += literal.length();
+    if (!exact) {
+      return pos;
+    }
+    final int len = path.length();
+    if (pos == len) {
+      return pos;
+    }
+    // a final slash is optional when the route path does not end with one
+    if (!endsWithSlash && pos == len - 1 && path.charAt(pos) == '/') {
+      return len;
+    }
+    return -1;
+  }
+
+  /**
+   * Locates the value of a parameter in a path matched by {@link #match(String, int)}, parameters are visited in
+   * order: the value of a parameter starts after the literal following the previous one and ends at
+   * {@link #segmentEnd(String, int)}.
+   *
+   * @param offset the end of the previous parameter, or the start of the match for the first parameter
+   * @param index the index of the parameter
+   * @return the start of the parameter value
+   */
+  int paramStart(int offset, int index) {
+    return offset + literals[index].length();
+  }
+
+  /**
+   * @return the end of the segment starting at the given offset
+   */
+  static int segmentEnd(String path, int start) {
+    final int end = path.indexOf('/', start);
+    return end == -1 ? path.length() : end;
+  }
+
+  @Override
+  public String toString() {
+    return "PathTemplate{" +
+      "segments=" + String.join("/", segments) +
+      ", exact=" + exact +
+      ", partial=" + partial +
+      '}';
+  }
+}
@@ -17,14 +17,19 @@ package io.vertx.ext.web.impl;
 
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.MIMEHeader;
 import io.vertx.ext.web.ParsedHeaderValues;
 import io.vertx.ext.web.RoutingContext;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Implementation of the Cacheable Request Body
  *
@@ -35,6 +40,14 @@ public class RequestBodyImpl implements RequestBody {
   private final RoutingContext ctx;
 
   private Buffer body;
+  // the chunks the body was received in, null if the body was gathered in a single buffer
+  private List<Buffer> chunks;
+  // the body was parsed while it was received, the raw body may have been discarded
+  private boolean parsed;
+  private int length;
+  private Object json;
+  // the body is streamed to the handlers, it is not gathered
+  private ReadStream<Buffer> stream;
 
   // caches
   private String string;
@@ -47,12 +60,63 @@ public class RequestBodyImpl implements RequestBody {
 
   public void setBuffer(Buffer body) {
     this.body = body;
+    chunks = null;
+    parsed = false;
+    json = null;
+    stream = null;
     // reset caches
     string = null;
     jsonObject = null;
     jsonArray = null;
   }
 
+  /**
+   * Sets a body received in chunks, the chunks are wrapped in a composite buffer without being copied.
+   *
+   * @param chunks the chunks of the body
+   */
+  public void setChunks(List<Buffer> chunks) {
+    setBuffer(Utils.compositeBuffer(chunks));
+    this.chunks = Collections.unmodifiableList(chunks);
+  }
+
+  /**
+   * Sets a JSON body parsed while it was received.
+   *
+   * @param body the raw body, {@code null} if it was discarded
+   * @param length the length of the raw body
+   * @param json the parsed value
+   */
+  public void setJson(Buffer body, int length, Object json) {
+    setBuffer(body);
+    this.length = length;
+    this.parsed = true;
+    this.json = json;
+  }
+
+  /**
+   * Sets the stream of a body that is not gathered.
+   *
+   * @param stream the body stream
+   */
+  public void setStream(ReadStream<Buffer> stream) {
+    setBuffer(null);
+    this.stream = stream;
+  }
+
+  private static <T> T as(Class<T> type, Object value) {
+    if (value == null || type.isInstance(value)) {
+      return type.cast(value);
+    }
+    throw new DecodeException("Failed to decode: the body is not a " + type.getSimpleName());
+  }
+
+  private void checkLength(int maxAllowedLength) {
+    if (maxAllowedLength >= 0 && length() > maxAllowedLength) {
+      throw new IllegalStateException("RoutingContext body size exceeds the allowed limit");
+    }
+  }
+
   @Override
   public @Nullable String asString() {
     if (body == null) {
@@ -87,6 +151,10 @@ public class RequestBodyImpl implements RequestBody {
 
   @Override
   public @Nullable JsonObject asJsonObject(int maxAllowedLength) {
+    if (parsed) {
+      checkLength(maxAllowedLength);
+      return as(JsonObject.class, json);
+    }
     if (body == null) {
       return null;
     } else {
@@ -102,6 +170,10 @@ public class RequestBodyImpl implements RequestBody {
 
   @Override
   public @Nullable JsonArray asJsonArray(int maxAllowedLength) {
+    if (parsed) {
+      checkLength(maxAllowedLength);
+      return as(JsonArray.class, json);
+    }
     if (body == null) {
       return null;
     } else {
@@ -117,6 +189,10 @@ public class RequestBodyImpl implements RequestBody {
 
   @Override
   public <R> @Nullable R asPojo(Class<R> clazz, int maxAllowedLength) {
+    if (parsed) {
+      checkLength(maxAllowedLength);
+      return json == null ? null : Json.CODEC.fromValue(json, clazz);
+    }
     if (body == null) {
       return null;
     } else {
@@ -132,9 +208,27 @@ public class RequestBodyImpl implements RequestBody {
     return body;
   }
 
+  @Override
+  public @Nullable List<Buffer> chunks() {
+    if (chunks != null) {
+      return chunks;
+    } else if (body == null) {
+      return null;
+    } else {
+      return Collections.singletonList(body);
+    }
+  }
+
+  @Override
+  public @Nullable ReadStream<Buffer> stream() {
+    return stream;
+  }
+
   @Override
   public int length() {
-    if (body == null) {
+    if (parsed) {
+      return length;
+    } else if (body == null) {
       return -1;
     } else {
       return body.length();
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RouteMatching;
+
+import java.util.*;
+
+/**
+ * A snapshot of the routes of a router bucketed by HTTP method. The bucket of a method holds, in order, the state of
+ * the routes accepting the method and of the routes accepting any method. Routes restricted to other methods are kept
+ * apart, they can never handle the request but are still needed to report a 405.
+ * <p>
+ * This class is immutable and thread-safe
+ */
+final class RouteBuckets {
+
+  private final Map<HttpMethod, RouteList> buckets = new HashMap<>();
+  // bucket for methods not declared by any route
+  private final RouteList any;
+
+  RouteBuckets(RouteImpl[] routes, int size, RouteMatching routeMatching) {
+    final RouteState[] all = new RouteState[size];
+    final Set<HttpMethod> methods = new HashSet<>();
+    for (int i = 0; i < size; i++) {
+      all[i] = routes[i].state();
+      final Set<HttpMethod> routeMethods = all[i].getMethods();
+      if (routeMethods != null) {
+        methods.addAll(routeMethods);
+      }
+    }
+
+    for (HttpMethod method : methods) {
+      buckets.put(method, bucket(all, method, routeMatching));
+    }
+    any = bucket(all, null, routeMatching);
+  }
+
+  /**
+   * @return the routes to evaluate for the given method, in order
+   */
+  RouteList routes(HttpMethod method) {
+    final RouteList bucket = buckets.get(method);
+    return bucket != null ? bucket : any;
+  }
+
+  private static RouteList bucket(RouteState[] all, HttpMethod method, RouteMatching routeMatching) {
+    final boolean indexed = routeMatching == RouteMatching.INDEXED;
+    final List<RouteState> routes = new ArrayList<>(all.length);
+    final List<Integer> positions = new ArrayList<>(all.length);
+    final List<RouteState> others = new ArrayList<>();
+    final List<Integer> otherPositions = new ArrayList<>();
+
+    for (int i = 0; i < all.length; i++) {
+      final Set<HttpMethod> routeMethods = all[i].getMethods();
+      if (routeMethods == null || routeMethods.isEmpty() || routeMethods.contains(method)) {
+        routes.add(all[i]);
+        positions.add(i);
+      } else {
+        others.add(all[i]);
+        otherPositions.add(i);
+      }
+    }
+
+    return new RouteList(
+      routes.toArray(new RouteState[0]),
+      toArray(positions),
+      new RouteList(others.toArray(new RouteState[0]), toArray(otherPositions), null, indexed),
+      indexed);
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    final int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+}
@@ -75,12 +75,14 @@ public class RouteImpl implements Route {
   @Override
   public synchronized Route putMetadata(String key, Object value) {
     state = state.putMetadata(key, value);
+    reindex();
     return this;
   }
 
   @Override
   public synchronized Route method(HttpMethod method) {
     state = state.addMethod(method);
+    reindex();
     return this;
   }
 
@@ -100,24 +102,21 @@ public class RouteImpl implements Route {
   @Override
   public synchronized Route produces(String contentType) {
     state = state.addProduce(new ParsableMIMEValue(contentType).forceParse());
+    reindex();
     return this;
   }
 
   @Override
   public synchronized Route consumes(String contentType) {
     state = state.addConsume(new ParsableMIMEValue(contentType).forceParse());
+    reindex();
     return this;
   }
 
   @Override
   public synchronized Route virtualHost(String hostnamePattern) {
-    state = state
-      .setVirtualHostPattern(
-        Pattern.compile(
-          hostnamePattern
-            .replaceAll("\\.", "\\\\.")
-            .replaceAll("[*]", "(.*?)"), Pattern.CASE_INSENSITIVE));
-
+    state = state.setVirtualHost(VirtualHost.create(hostnamePattern));
+    reindex();
     return this;
   }
 
@@ -184,6 +183,7 @@ public class RouteImpl implements Route {
 
     // mark the route as exclusive from now on
     this.state = state.setExclusive(true).setSubRouter(subRouter);
+    reindex();
     return this;
   }
 
@@ -212,18 +212,21 @@ public class RouteImpl implements Route {
   @Override
   public synchronized Route disable() {
     state = state.setEnabled(false);
+    reindex();
     return this;
   }
 
   @Override
   public synchronized Route enable() {
     state = state.setEnabled(true);
+    reindex();
     return this;
   }
 
   @Override
   public synchronized Route useNormalizedPath(boolean useNormalizedPath) {
     state = state.setUseNormalizedPath(useNormalizedPath);
+    reindex();
     return this;
   }
 
@@ -256,12 +259,14 @@ public class RouteImpl implements Route {
   @Override
   public synchronized Route setRegexGroupsNames(List<String> groups) {
     state = state.setGroups(groups);
+    reindex();
     return this;
   }
 
   @Override
   public synchronized Route setName(String name) {
     state = state.setName(name);
+    reindex();
     return this;
   }
 
@@ -308,18 +313,28 @@ public class RouteImpl implements Route {
         throw new IllegalArgumentException("path param does not follow the variable naming rules, expected (" + params + ") found (" + found + ")");
       }
     }
+
+    // a previously set regex still takes precedence over a literal path
+    if (params > 0 || state.getPattern() == null) {
+      state = state.setPathTemplate(PathTemplate.parse(state.getPath(), state.isExactPath(), params > 0 ? RE_PARAM_SEGMENT : null));
+    } else {
+      state = state.setPathTemplate(null);
+    }
+    reindex();
   }
 
   private synchronized void setRegex(String regex) {
     state = state.setPattern(Pattern.compile(regex));
     state = state.setExactPath(true);
+    state = state.setPathTemplate(null);
     findNamedGroups(state.getPattern().pattern());
+    reindex();
   }
 
   private synchronized void findNamedGroups(String path) {
     Matcher m = RE_TOKEN_NAME_SEARCH.matcher(path);
     while (m.find()) {
-      state = state.addNamedGroupInRegex(m.group(1));
+      state = state.addNamedGroupInRegex(m.group(1).intern());
     }
   }
 
@@ -330,6 +345,8 @@ public class RouteImpl implements Route {
 
   // Pattern for :<token name> in path
   private static final Pattern RE_TOKEN_SEARCH = Pattern.compile(":(" + RE_VAR_NAME + ")");
+  // Pattern for a path segment made of a single :<token name>
+  private static final Pattern RE_PARAM_SEGMENT = Pattern.compile(":" + RE_VAR_NAME);
   // Pattern for (?<token name>) in path
   private static final Pattern RE_TOKEN_NAME_SEARCH = Pattern.compile("\\(\\?<(" + RE_VAR_NAME + ")>");
 
@@ -354,7 +371,8 @@ public class RouteImpl implements Route {
     int index = 0;
     while (m.find()) {
       String param = "p" + index;
-      String group = m.group().substring(1);
+      // interned, path params are looked up by reference first
+      String group = m.group().substring(1).intern();
       if (groups.contains(group)) {
         throw new IllegalArgumentException("Cannot use identifier " + group + " more than once in pattern string");
       }
@@ -383,15 +401,25 @@ public class RouteImpl implements Route {
     return state.getOrder();
   }
 
+  private void reindex() {
+    // the route changed after it was added to the router, the snapshot of the routes must be recomputed
+    if (state.isAdded()) {
+      router.reindex();
+    }
+  }
+
   private synchronized void checkAdd() {
     if (!state.isAdded()) {
       router.add(this);
       state = state.setAdded(true);
+    } else {
+      reindex();
     }
   }
 
   public synchronized RouteImpl setEmptyBodyPermittedWithConsumes(boolean emptyBodyPermittedWithConsumes) {
     state = state.setEmptyBodyPermittedWithConsumes(emptyBodyPermittedWithConsumes);
+    reindex();
     return this;
   }
 
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import java.util.*;
+
+/**
+ * A prefix tree over the path segments of a list of routes. Given a request path, the tree selects the routes that
+ * can possibly match it, in route order.
+ * <p>
+ * The index is conservative, it never excludes a route that could match: routes without a {@link PathTemplate}
+ * (regular expressions, routes without path) or matching the raw path are always returned, and every returned route
+ * is still verified by {@link RouteState#matches(RoutingContextImplBase, String, boolean)}.
+ * <p>
+ * This class is immutable and thread-safe
+ */
+final class RouteIndex {
+
+  private static final int[] EMPTY = new int[0];
+
+  private static final class Node {
+    private final Map<String, Node> children = new HashMap<>();
+    private Node param;
+    // routes ending at this node
+    private int[] exact = EMPTY;
+    // routes matching any path starting at this node
+    private int[] prefix = EMPTY;
+    // routes matching any path whose next segment starts with the given value, a null value matches any segment
+    private String[] partials = new String[0];
+    private int[] partialRoutes = EMPTY;
+
+    Node child(String segment, boolean param) {
+      if (param) {
+        if (this.param == null) {
+          this.param = new Node();
+        }
+        return this.param;
+      }
+      return children.computeIfAbsent(segment, k -> new Node());
+    }
+  }
+
+  private final int[] unindexed;
+  private final Node root = new Node();
+
+  RouteIndex(RouteState[] routes) {
+    int[] unindexed = EMPTY;
+    for (int i = 0; i < routes.length; i++) {
+      if (!add(routes[i], i)) {
+        unindexed = append(unindexed, i);
+      }
+    }
+    this.unindexed = unindexed;
+  }
+
+  private boolean add(RouteState state, int position) {
+    final PathTemplate template = state.getPathTemplate();
+    if (template == null || !state.isUseNormalizedPath()) {
+      return false;
+    }
+
+    Node node = root;
+    int len = template.length();
+    if (template.isPartial()) {
+      len--;
+    }
+    for (int i = 0; i < len; i++) {
+      node = node.child(template.segment(i), template.isParam(i));
+    }
+
+    if (template.isPartial()) {
+      node.partials = Arrays.copyOf(node.partials, node.partials.length + 1);
+      node.partials[node.partials.length - 1] = template.isParam(len) ? null : template.segment(len);
+      node.partialRoutes = append(node.partialRoutes, position);
+    } else if (template.isExact()) {
+      node.exact = append(node.exact, position);
+    } else {
+      node.prefix = append(node.prefix, position);
+    }
+    return true;
+  }
+
+  /**
+   * @param mountPoint the mount point of the router, {@code null} for the root router
+   * @param path the normalized request path
+   * @return the indexes of the candidate routes in order, a new array for each request, or {@code null} if all routes
+   * are candidates
+   */
+  int[] select(String mountPoint, String path) {
+    if (path == null) {
+      return null;
+    }
+
+    // routes in a sub router are relative to the mount point
+    final int start = RouteState.mountPrefixLength(mountPoint);
+    if (mountPoint != null && !path.regionMatches(0, mountPoint, 0, start)) {
+      return null;
+    }
+    if (start < path.length() && path.charAt(start) != '/') {
+      return null;
+    }
+
+    final Candidates candidates = new Candidates(unindexed);
+    collect(root, path, start + 1, candidates);
+    return candidates.toArray();
+  }
+
+  /**
+   * Walks the tree collecting the candidate routes.
+   *
+   * @param node the current node
+   * @param path the request path
+   * @param start the start of the next segment in the path
+   */
+  private static void collect(Node node, String path, int start, Candidates candidates) {
+    candidates.addAll(node.prefix);
+
+    final int len = path.length();
+    if (start >= len) {
+      candidates.addAll(node.exact);
+      return;
+    }
+
+    int end = path.indexOf('/', start);
+    if (end == -1) {
+      end = len;
+    }
+
+    for (int i = 0; i < node.partials.length; i++) {
+      final String partial = node.partials[i];
+      if (partial == null || path.regionMatches(start, partial, 0, partial.length())) {
+        candidates.add(node.partialRoutes[i]);
+      }
+    }
+
+    final int next = end + 1;
+    if (!node.children.isEmpty()) {
+      final Node child = node.children.get(path.substring(start, end));
+      if (child != null) {
+        collect(child, path, next, candidates);
+      }
+    }
+    if (node.param != null && end > start) {
+      collect(node.param, path, next, candidates);
+    }
+  }
+
+  private static int[] append(int[] array, int value) {
+    int[] copy = Arrays.copyOf(array, array.length + 1);
+    copy[array.length] = value;
+    return copy;
+  }
+
+  /**
+   * The positions of the candidate routes of a request.
+   */
+  private static final class Candidates {
+
+    private int[] positions;
+    private int size;
+
+    Candidates(int[] initial) {
+      positions = Arrays.copyOf(initial, Math.max(8, initial.length * 2));
+      size = initial.length;
+    }
+
+    void add(int position) {
+      if (size == positions.length) {
+        positions = Arrays.copyOf(positions, size * 2);
+      }
+      positions[size++] = position;
+    }
+
+    void addAll(int[] values) {
+      for (int value : values) {
+        add(value);
+      }
+    }
+
+    int[] toArray() {
+      // a route is registered at a single node, so positions are unique, restore the route order
+      Arrays.sort(positions, 0, size);
+      return size == positions.length ? positions : Arrays.copyOf(positions, size);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+/**
+ * An ordered snapshot of the state of a selection of the routes of a router. Routing contexts iterate the snapshot by
+ * index.
+ * <p>
+ * This class is thread-safe
+ */
+final class RouteList {
+
+  static final RouteList EMPTY = new RouteList(new RouteState[0], new int[0], null, false);
+
+  private final RouteState[] routes;
+  // the position of each route in the router
+  private final int[] positions;
+  // the routes left out of this selection that must still be evaluated to report a 405
+  private final RouteList others;
+  private final boolean indexed;
+  // null when no route has an indexable virtual host
+  private final HostIndex hosts;
+  // lazily computed, as the list is immutable a concurrent computation is harmless
+  private volatile RouteIndex index;
+
+  RouteList(RouteState[] routes, int[] positions, RouteList others, boolean indexed) {
+    this.routes = routes;
+    this.positions = positions;
+    this.others = others;
+    this.indexed = indexed;
+    this.hosts = HostIndex.create(routes);
+  }
+
+  int size() {
+    return routes.length;
+  }
+
+  RouteState get(int index) {
+    return routes[index];
+  }
+
+  int position(int index) {
+    return positions[index];
+  }
+
+  RouteList others() {
+    return others;
+  }
+
+  /**
+   * Selects the routes to be evaluated for the given routing context. Routes are selected by virtual host when some
+   * routes have a virtual host, and by path when the list is indexed.
+   *
+   * @return the indexes of the selected routes in order, or {@code null} if all routes must be evaluated
+   */
+  int[] select(RoutingContextImplBase context) {
+    int[] selection = null;
+    if (indexed && routes.length > 0) {
+      RouteIndex index = this.index;
+      if (index == null) {
+        this.index = index = new RouteIndex(routes);
+      }
+      selection = index.select(context.mountPoint(), context.normalizedPath());
+    }
+    if (hosts != null) {
+      selection = hosts.select(VirtualHost.hostName(context.request()), selection);
+    }
+    return selection;
+  }
+}
@@ -23,7 +23,6 @@ import io.vertx.core.internal.http.HttpServerRequestInternal;
 import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.core.internal.net.RFC3986;
-import io.vertx.core.net.HostAndPort;
 import io.vertx.ext.web.MIMEHeader;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
@@ -100,13 +99,14 @@ final class RouteState {
   private final List<String> groups;
   private final boolean useNormalizedPath;
   private final Set<String> namedGroupsInRegex;
-  private final Pattern virtualHostPattern;
+  private final VirtualHost virtualHost;
   private final boolean pathEndsWithSlash;
   private final boolean exclusive;
   private final boolean exactPath;
   private final Router subRouter;
+  private final PathTemplate pathTemplate;
 
-  private RouteState(RouteImpl route, Map<String, Object> metadata, String path, String name, int order, boolean enabled, Set<HttpMethod> methods, Set<MIMEHeader> consumes, boolean emptyBodyPermittedWithConsumes, Set<MIMEHeader> produces, List<Handler<RoutingContext>> contextHandlers, List<Handler<RoutingContext>> failureHandlers, boolean added, Pattern pattern, List<String> groups, boolean useNormalizedPath, Set<String> namedGroupsInRegex, Pattern virtualHostPattern, boolean pathEndsWithSlash, boolean exclusive, boolean exactPath, Router subRouter) {
+  private RouteState(RouteImpl route, Map<String, Object> metadata, String path, String name, int order, boolean enabled, Set<HttpMethod> methods, Set<MIMEHeader> consumes, boolean emptyBodyPermittedWithConsumes, Set<MIMEHeader> produces, List<Handler<RoutingContext>> contextHandlers, List<Handler<RoutingContext>> failureHandlers, boolean added, Pattern pattern, List<String> groups, boolean useNormalizedPath, Set<String> namedGroupsInRegex, VirtualHost virtualHost, boolean pathEndsWithSlash, boolean exclusive, boolean exactPath, Router subRouter, PathTemplate pathTemplate) {
     this.route = route;
     this.metadata = metadata;
     this.path = path;
@@ -124,11 +124,12 @@ final class RouteState {
     this.groups = groups;
     this.useNormalizedPath = useNormalizedPath;
     this.namedGroupsInRegex = namedGroupsInRegex;
-    this.virtualHostPattern = virtualHostPattern;
+    this.virtualHost = virtualHost;
     this.pathEndsWithSlash = pathEndsWithSlash;
     this.exclusive = exclusive;
     this.exactPath = exactPath;
     this.subRouter = subRouter;
+    this.pathTemplate = pathTemplate;
   }
 
   RouteState(RouteImpl route, int order) {
@@ -154,6 +155,7 @@ final class RouteState {
       false,
       false,
       true,
+      null,
       null);
   }
 
@@ -191,11 +193,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public Map<String, Object> getMetadata() {
@@ -225,11 +228,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public int getOrder() {
@@ -255,11 +259,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public boolean isEnabled() {
@@ -285,11 +290,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public Set<HttpMethod> getMethods() {
@@ -315,11 +321,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public RouteState addMethod(HttpMethod method) {
@@ -341,11 +348,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
 
     newState.methods.add(method);
     return newState;
@@ -374,11 +382,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   RouteState addConsume(MIMEHeader mime) {
@@ -400,11 +409,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
 
     newState.consumes.add(mime);
     return newState;
@@ -433,11 +443,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public Set<MIMEHeader> getProduces() {
@@ -463,11 +474,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   RouteState addProduce(MIMEHeader mime) {
@@ -489,11 +501,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
 
     newState.produces.add(mime);
     return newState;
@@ -526,11 +539,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   RouteState addContextHandler(Handler<RoutingContext> contextHandler) {
@@ -552,11 +566,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
 
     int len = newState.contextHandlers.size();
     final Priority weight = weight(contextHandler);
@@ -619,11 +634,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   RouteState addFailureHandler(Handler<RoutingContext> failureHandler) {
@@ -645,11 +661,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
 
     newState.failureHandlers.add(failureHandler);
     return newState;
@@ -678,11 +695,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public Pattern getPattern() {
@@ -708,11 +726,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public List<String> getGroups() {
@@ -738,11 +757,12 @@ final class RouteState {
       groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   RouteState addGroup(String group) {
@@ -764,11 +784,12 @@ final class RouteState {
       this.groups == null ? new ArrayList<>() : new ArrayList<>(groups),
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
 
     newState.groups.add(group);
     return newState;
@@ -797,11 +818,12 @@ final class RouteState {
       this.groups,
       useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public Set<String> getNamedGroupsInRegex() {
@@ -827,11 +849,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   RouteState addNamedGroupInRegex(String namedGroupInRegex) {
@@ -853,21 +876,26 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex == null ? new HashSet<>() : new HashSet<>(this.namedGroupsInRegex),
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
 
     newState.namedGroupsInRegex.add(namedGroupInRegex);
     return newState;
   }
 
   public Pattern getVirtualHostPattern() {
-    return virtualHostPattern;
+    return virtualHost == null ? null : virtualHost.pattern();
+  }
+
+  VirtualHost getVirtualHost() {
+    return virtualHost;
   }
 
-  RouteState setVirtualHostPattern(Pattern virtualHostPattern) {
+  RouteState setVirtualHost(VirtualHost virtualHost) {
     return new RouteState(
       this.route,
       this.metadata,
@@ -886,11 +914,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      virtualHostPattern,
+      virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public boolean isPathEndsWithSlash() {
@@ -916,11 +945,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public boolean isExclusive() {
@@ -950,11 +980,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      subRouter);
+      subRouter,
+      this.pathTemplate);
   }
 
   RouteState setExclusive(boolean exclusive) {
@@ -976,11 +1007,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
 
   public boolean isExactPath() {
@@ -1006,11 +1038,12 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
   }
   RouteState setName(String name) {
     return new RouteState(
@@ -1031,11 +1064,43 @@ final class RouteState {
       this.groups,
       this.useNormalizedPath,
       this.namedGroupsInRegex,
-      this.virtualHostPattern,
+      this.virtualHost,
       this.pathEndsWithSlash,
       this.exclusive,
       this.exactPath,
-      this.subRouter);
+      this.subRouter,
+      this.pathTemplate);
+  }
+
+  public PathTemplate getPathTemplate() {
+    return pathTemplate;
+  }
+
+  RouteState setPathTemplate(PathTemplate pathTemplate) {
+    return new RouteState(
+      this.route,
+      this.metadata,
+      this.path,
+      this.name,
+      this.order,
+      this.enabled,
+      this.methods,
+      this.consumes,
+      this.emptyBodyPermittedWithConsumes,
+      this.produces,
+      this.contextHandlers,
+      this.failureHandlers,
+      this.added,
+      this.pattern,
+      this.groups,
+      this.useNormalizedPath,
+      this.namedGroupsInRegex,
+      this.virtualHost,
+      this.pathEndsWithSlash,
+      this.exclusive,
+      this.exactPath,
+      this.subRouter,
+      pathTemplate);
   }
 
   private boolean containsMethod(HttpServerRequest request) {
@@ -1064,26 +1129,22 @@ final class RouteState {
     if (path != null && pattern == null && !pathMatches(mountPoint, context)) {
       return 404;
     }
-    if (pattern != null) {
+    if (pattern != null && segmentParams()) {
+      // plain parameterised path, no need for the regular expression
+      final int result = segmentsMatch(context, mountPoint);
+      if (result != 0) {
+        return result;
+      }
+    } else if (pattern != null) {
       // need to reset "rest"
-      context.pathParams()
-        .remove("*");
+      context.removeRestParam();
 
-      String path = useNormalizedPath ? context.normalizedPath() : context.request().path();
-
-      if (mountPoint != null) {
-        int strip = mountPoint.length();
-        // mount point can have significant slash
-        if (mountPoint.charAt(strip - 1)== '/') {
-          strip--;
-        }
-        if (path != null) {
-          path = path.substring(strip);
-        }
-      }
+      final String path = useNormalizedPath ? context.normalizedPath() : context.request().path();
+      // match the path relative to the mount point in place
+      final int strip = mountPrefixLength(mountPoint);
 
       Matcher m;
-      if (path != null && (m = pattern.matcher(path)).matches()) {
+      if (path != null && strip <= path.length() && (m = pattern.matcher(path).region(strip, path.length())).matches()) {
         if (!isEmpty(methods) && !containsMethod(request)) {
           // If I'm here path or path pattern matches, but the method is wrong
           return 405;
@@ -1094,10 +1155,10 @@ final class RouteState {
 
         if (m.groupCount() > 0) {
           if (!exactPath) {
-            context.matchRest = m.start("rest");
+            context.matchRest = m.start("rest") - strip;
             // always replace
             context.pathParams()
-              .put("*", path.substring(context.matchRest));
+              .put("*", path.substring(m.start("rest")));
           }
 
           if (!isEmpty(groups)) {
@@ -1181,30 +1242,30 @@ final class RouteState {
     return 0;
   }
 
-  private boolean pathMatches(String mountPoint, RoutingContext ctx) {
-    final boolean rootRouter = mountPoint == null;
+  private boolean pathMatches(String mountPoint, RoutingContextImplBase ctx) {
+    // the route path is matched against the request path as if it was appended to the mount point, the leading part
+    // of the mount point and the trailing part of the route path are compared in place
+    final int prefixLength;
+    final int suffixStart;
     final boolean pathEndsWithSlash;
-    final String thePath;
 
-    if (rootRouter) {
-      thePath = path;
+    if (mountPoint == null) {
+      prefixLength = 0;
+      suffixStart = 0;
       pathEndsWithSlash = this.pathEndsWithSlash;
     } else {
       boolean mountPointEndsWithSlash = mountPoint.charAt(mountPoint.length() - 1) == '/';
+      prefixLength = mountPoint.length();
       // path is "/"
       if (path.length() == 1) {
         // mount point is always assumed to be a directory so
         // we must ignore the final slash
-        thePath = mountPoint;
+        suffixStart = 1;
         // so this is a special case we can't consider the configured route but the mount point itself
         pathEndsWithSlash = mountPointEndsWithSlash;
       } else {
         // solve the double slash when mount point ends with slash
-        if (mountPointEndsWithSlash) {
-          thePath = mountPoint + path.substring(1);
-        } else {
-          thePath = mountPoint + path;
-        }
+        suffixStart = mountPointEndsWithSlash ? 1 : 0;
         pathEndsWithSlash = this.pathEndsWithSlash;
       }
     }
@@ -1222,18 +1283,30 @@ final class RouteState {
       }
     }
 
+    final int pathLen = prefixLength + path.length() - suffixStart;
+
     if (exactPath) {
       // exact path has no "rest"
-      ctx.pathParams()
-        .remove("*");
+      ctx.removeRestParam();
 
-      return pathMatchesExact(thePath, requestPath, pathEndsWithSlash);
+      // Ignore trailing slash when matching paths
+      int len = requestPath.length();
+      if (pathEndsWithSlash) {
+        if (requestPath.charAt(len - 1) != '/') {
+          // final slash is significant but missing
+          return false;
+        }
+      } else if (requestPath.charAt(len - 1) == '/') {
+        // final slash is not significant, ignore it
+        len--;
+      }
+      // content must match
+      return len == pathLen && pathRegionMatches(requestPath, mountPoint, prefixLength, suffixStart, len);
     } else {
       if (pathEndsWithSlash) {
         // the route expects a path that ends in "/*". This is a special case
         // we need to optionally allow any request just like if it was a "*" but
         // treat the slash
-        final int pathLen = thePath.length();
         final int reqLen = requestPath.length();
 
         if (reqLen < pathLen - 2) {
@@ -1244,7 +1317,7 @@ final class RouteState {
         if (reqLen == pathLen - 1) {
           // request misses 1 character, there is the chance that this request doesn't include the final slash
           // because the mount path ended with a wildcard we are relaxed in the check
-          if (thePath.regionMatches(0, requestPath, 0, pathLen - 1)) {
+          if (pathRegionMatches(requestPath, mountPoint, prefixLength, suffixStart, pathLen - 1)) {
             // handle the "rest" as path param *, always known to be empty
             ctx.pathParams()
               .put("*", "/");
@@ -1253,76 +1326,104 @@ final class RouteState {
         }
       }
 
-      if (requestPath.startsWith(thePath)) {
+      if (pathRegionMatches(requestPath, mountPoint, prefixLength, suffixStart, pathLen)) {
         // handle the "rest" as path param *
         ctx.pathParams()
-          .put("*", RFC3986.decodeURIComponent(requestPath.substring(thePath.length()), false));
+          .put("*", RFC3986.decodeURIComponent(requestPath.substring(pathLen), false));
         return true;
       }
       return false;
     }
   }
 
-  private boolean virtualHostMatches(HttpServerRequest request) {
-    if (virtualHostPattern == null) {
-      return true;
+  /**
+   * Checks that the request path starts with the {@code len} first chars of the route path appended to the mount point,
+   * without building the appended path.
+   *
+   * @param requestPath the request path
+   * @param mountPoint the mount point, {@code null} for the root router
+   * @param prefixLength the number of chars of the mount point to prepend
+   * @param suffixStart the index of the first char of the route path to append
+   * @param len the number of chars to compare
+   */
+  private boolean pathRegionMatches(String requestPath, String mountPoint, int prefixLength, int suffixStart, int len) {
+    final int prefix = Math.min(len, prefixLength);
+    return (prefix == 0 || requestPath.regionMatches(0, mountPoint, 0, prefix))
+      && requestPath.regionMatches(prefix, path, suffixStart, len - prefix);
+  }
+
+  /**
+   * @return the length of the mount point part of the request path, the routes of a sub router match the rest of it
+   */
+  static int mountPrefixLength(String mountPoint) {
+    if (mountPoint == null) {
+      return 0;
     }
+    final int len = mountPoint.length();
+    // mount point can have significant slash
+    return mountPoint.charAt(len - 1) == '/' ? len - 1 : len;
+  }
 
-    HostAndPort authority = request.authority();
-    if (authority == null) {
-      return false;
+  /**
+   * @return {@code true} if the route parameters can be matched by the path template instead of the pattern
+   */
+  private boolean segmentParams() {
+    return pathTemplate != null && pathTemplate.hasSegmentParams() && groups != null && groups.size() == pathTemplate.params();
+  }
+
+  /**
+   * Matches a parameterised path by scanning its segments, this has the same effects as matching the pattern of the
+   * route.
+   *
+   * @return {@code 0} when the route matches, {@code 404} or {@code 405} otherwise
+   */
+  private int segmentsMatch(RoutingContextImplBase context, String mountPoint) {
+    // need to reset "rest"
+    context.removeRestParam();
+
+    final String path = useNormalizedPath ? context.normalizedPath() : context.request().path();
+    if (path == null) {
+      return 404;
     }
 
-    String host = authority.host();
-    int len = host.length();
-
-    // knowing that the shortest IPv6 is [::]
-    if (len > 3 && host.charAt(0) == '[') {
-      // attempt to parse IPv6
-      int delim = host.indexOf(']');
-      if (delim != -1) {
-        // the delim must be the terminal character OR right before a ':'
-        if (delim == len - 1 || host.charAt(delim + 1) == ':') {
-          // OK
-          host = host.substring(1, delim);
-          return virtualHostPattern.matcher(host).matches();
-        }
-      }
+    final int start = mountPrefixLength(mountPoint);
+    if (start > path.length()) {
+      return 404;
     }
 
-    // assume IPv4 or name
-    int portSeparatorIdx = host.lastIndexOf(':');
-    if (portSeparatorIdx != -1) {
-      host = host.substring(0, portSeparatorIdx);
+    final int end = pathTemplate.match(path, start);
+    if (end == -1) {
+      return 404;
+    }
+    if (!isEmpty(methods) && !containsMethod(context.request())) {
+      // If I'm here path matches, but the method is wrong
+      return 405;
     }
 
-    return virtualHostPattern.matcher(host).matches();
-  }
+    context.matchRest = -1;
+    context.normalizedMatch = useNormalizedPath;
 
-  private static boolean pathMatchesExact(String base, String other, boolean significantSlash) {
-    // Ignore trailing slash when matching paths
-    int len = other.length();
+    if (!exactPath) {
+      context.matchRest = end - start;
+      // always replace
+      context.pathParams()
+        .put("*", path.substring(end));
+    }
 
-    if (significantSlash) {
-      if (other.charAt(len -1) != '/') {
-        // final slash is significant but missing
-        return false;
-      }
-    } else {
-      if (other.charAt(len -1) == '/') {
-        // final slash is not significant, ignore it
-        len--;
-        if (base.length() != len) {
-          return false;
-        }
-        // content must match
-        return other.regionMatches(0, base, 0, len);
-      }
+    int offset = start;
+    for (int i = 0; i < groups.size(); i++) {
+      final int paramStart = pathTemplate.paramStart(offset, i);
+      offset = PathTemplate.segmentEnd(path, paramStart);
+      addPathParam(context, groups.get(i), path.substring(paramStart, offset));
     }
-    // content must match
-    return other.equals(base);
+    return 0;
   }
 
+  private boolean virtualHostMatches(HttpServerRequest request) {
+    return virtualHost == null || virtualHost.matches(VirtualHost.hostName(request));
+  }
+
+
   private void addPathParam(RoutingContext context, String name, String value) {
     HttpServerRequest request = context.request();
     final String decodedValue = RFC3986.decodeURIComponent(value, false);
@@ -1401,11 +1502,12 @@ final class RouteState {
       ", groups=" + groups +
       ", useNormalizedPath=" + useNormalizedPath +
       ", namedGroupsInRegex=" + namedGroupsInRegex +
-      ", virtualHostPattern=" + virtualHostPattern +
+      ", virtualHostPattern=" + virtualHost +
       ", pathEndsWithSlash=" + pathEndsWithSlash +
       ", exclusive=" + exclusive +
       ", exactPath=" + exactPath +
       ", subRouter=" + subRouter +
+      ", pathTemplate=" + pathTemplate +
       '}';
   }
 }
@@ -24,6 +24,7 @@ import io.vertx.core.internal.logging.Logger;
 import io.vertx.core.internal.logging.LoggerFactory;
 import io.vertx.ext.web.AllowForwardHeaders;
 import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RouteMatching;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
@@ -41,6 +42,8 @@ public class RouterImpl implements Router {
   private final Vertx vertx;
 
   private volatile RouterState state;
+  // the routes staged by the batch running on the current thread, the router is not locked while a batch runs
+  private final ThreadLocal<List<RouteImpl>> batch = new ThreadLocal<>();
 
   public RouterImpl(Vertx vertx) {
     this.vertx = vertx;
@@ -65,7 +68,7 @@ public class RouterImpl implements Router {
       LOG.trace("Router: " + System.identityHashCode(this) + " accepting request " + request.method() + " " + request.absoluteURI());
     }
 
-    RoutingContextImpl routingContext = new RoutingContextImpl(null, this, request, state.getRoutes());
+    RoutingContextImpl routingContext = new RoutingContextImpl(null, this, request, state);
     routingContext.route();
   }
 
@@ -239,8 +242,40 @@ public class RouterImpl implements Router {
     return new ArrayList<>(state.getRoutes());
   }
 
+  @Override
+  public Router batch(Handler<Router> handler) {
+    if (batch.get() != null) {
+      // nested batch, the routes are published by the outer batch
+      handler.handle(this);
+      return this;
+    }
+    final List<RouteImpl> staged = new ArrayList<>();
+    batch.set(staged);
+    try {
+      handler.handle(this);
+    } finally {
+      batch.remove();
+      publish(staged);
+    }
+    return this;
+  }
+
+  private synchronized void publish(List<RouteImpl> added) {
+    if (!added.isEmpty()) {
+      state = state.addRoutes(added);
+      // notify the listeners as the routes are changed
+      if (state.getModifiedHandler() != null) {
+        state.getModifiedHandler().handle(this);
+      }
+    }
+  }
+
   @Override
   public synchronized Router clear() {
+    final List<RouteImpl> staged = batch.get();
+    if (staged != null) {
+      staged.clear();
+    }
     state = state.clearRoutes();
     return this;
   }
@@ -248,13 +283,13 @@ public class RouterImpl implements Router {
   @Override
   public void handleContext(RoutingContext ctx) {
     final RoutingContextInternal ctxi = (RoutingContextInternal) ctx;
-    new RoutingContextWrapper(getAndCheckRoutePath(ctxi), state.getRoutes(), ctxi, this).next();
+    new RoutingContextWrapper(getAndCheckRoutePath(ctxi), state, ctxi, this).next();
   }
 
   @Override
   public void handleFailure(RoutingContext ctx) {
     final RoutingContextInternal ctxi = (RoutingContextInternal) ctx;
-    new RoutingContextWrapper(getAndCheckRoutePath(ctxi), state.getRoutes(), ctxi, this).next();
+    new RoutingContextWrapper(getAndCheckRoutePath(ctxi), state, ctxi, this).next();
   }
 
   @Override
@@ -291,6 +326,12 @@ public class RouterImpl implements Router {
     return state.getAllowForward();
   }
 
+  @Override
+  public synchronized Router routeMatching(RouteMatching routeMatching) {
+    state = state.setRouteMatching(Objects.requireNonNull(routeMatching, "routeMatching cannot be null"));
+    return this;
+  }
+
   @Override
   public synchronized Router errorHandler(int statusCode, Handler<RoutingContext> errorHandler) {
     state = state.putErrorHandler(statusCode, errorHandler);
@@ -304,6 +345,11 @@ public class RouterImpl implements Router {
   }
 
   synchronized void add(RouteImpl route) {
+    final List<RouteImpl> staged = batch.get();
+    if (staged != null) {
+      staged.add(route);
+      return;
+    }
     state = state.addRoute(route);
     // notify the listeners as the routes are changed
     if (state.getModifiedHandler() != null) {
@@ -311,7 +357,16 @@ public class RouterImpl implements Router {
     }
   }
 
+  synchronized void reindex() {
+    state = state.reindex();
+  }
+
   synchronized void remove(RouteImpl route) {
+    final List<RouteImpl> staged = batch.get();
+    if (staged != null && staged.remove(route)) {
+      // not published yet
+      return;
+    }
     state = state.removeRoute(route);
     // notify the listeners as the routes are changed
     if (state.getModifiedHandler() != null) {
@@ -323,8 +378,8 @@ public class RouterImpl implements Router {
     return vertx;
   }
 
-  Iterator<RouteImpl> iterator() {
-    return state.getRoutes().iterator();
+  RouterState state() {
+    return state;
   }
 
   Handler<RoutingContext> getErrorHandlerByStatusCode(int statusCode) {
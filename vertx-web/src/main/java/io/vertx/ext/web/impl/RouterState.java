@@ -16,7 +16,9 @@
 package io.vertx.ext.web.impl;
 
 import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.ext.web.AllowForwardHeaders;
+import io.vertx.ext.web.RouteMatching;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
@@ -31,46 +33,36 @@ import java.util.*;
  */
 final class RouterState {
 
-  private static final Comparator<RouteImpl> routeComparator = (RouteImpl o1, RouteImpl o2) -> {
-    // we keep a set of handlers ordered by its "order" property
-    final int compare = Integer.compare(o1.order(), o2.order());
-    // since we are defining the comparator to order the set we must be careful because the set
-    // will use the comparator to compare the identity of the handlers and if they are the same order
-    // are assumed to be the same comparator and therefore removed from the set.
-
-    // if the 2 routes being compared by its order have the same order property value,
-    // then do a more expensive equality check and if and only if they are the same we
-    // do return 0, meaning same order and same identity.
-    if (compare == 0) {
-      if (o1.equals(o2)) {
-        return 0;
-      }
-      // otherwise, we return higher so if 2 routes have the same order the second one will be considered
-      // higher, so it is added after the first.
-      return 1;
-    }
-    return compare;
-  };
+  // routes are kept sorted by their "order" property, routes with the same order keep their registration order
+  private static final Comparator<RouteImpl> routeComparator = Comparator.comparingInt(RouteImpl::order);
 
   private final RouterImpl router;
 
-  private final TreeSet<RouteImpl> routes;
+  // the routes array can be shared with the previous states, a state only sees the first routeCount routes of the
+  // array, routes are appended in place to the free slots of the array
+  private final RouteImpl[] routes;
+  private final int routeCount;
   private final int orderSequence;
   private final Map<Integer, Handler<RoutingContext>> errorHandlers;
   private final Handler<RoutingContext> uncaughtErrorHandler;
   private final Handler<Router> modifiedHandler;
   private final AllowForwardHeaders allowForward;
   private final Map<String, Object> metadata;
+  private final RouteMatching routeMatching;
+  // lazily computed from the routes, as the state is immutable a concurrent computation is harmless
+  private volatile RouteBuckets routeBuckets;
 
-  public RouterState(RouterImpl router, TreeSet<RouteImpl> routes, int orderSequence, Map<Integer, Handler<RoutingContext>> errorHandlers, final Handler<RoutingContext> uncaughtErrorHandler, Handler<Router> modifiedHandler, AllowForwardHeaders allowForward, Map<String, Object> metadata) {
+  public RouterState(RouterImpl router, RouteImpl[] routes, int routeCount, int orderSequence, Map<Integer, Handler<RoutingContext>> errorHandlers, final Handler<RoutingContext> uncaughtErrorHandler, Handler<Router> modifiedHandler, AllowForwardHeaders allowForward, Map<String, Object> metadata, RouteMatching routeMatching) {
     this.router = router;
     this.routes = routes;
+    this.routeCount = routeCount;
     this.orderSequence = orderSequence;
     this.errorHandlers = errorHandlers;
     this.uncaughtErrorHandler = uncaughtErrorHandler;
     this.modifiedHandler = modifiedHandler;
     this.allowForward = allowForward;
     this.metadata = metadata;
+    this.routeMatching = routeMatching;
   }
 
   public RouterState(RouterImpl router) {
@@ -78,85 +70,139 @@ final class RouterState {
       router,
       null,
       0,
+      0,
       null,
       null,
       null,
       AllowForwardHeaders.NONE,
-      null);
+      null,
+      RouteMatching.LINEAR);
   }
 
   public RouterImpl router() {
     return router;
   }
 
-  public Set<RouteImpl> getRoutes() {
-    if (routes == null) {
-      return Collections.emptySet();
+  public List<RouteImpl> getRoutes() {
+    if (routeCount == 0) {
+      return Collections.emptyList();
     }
-    return routes;
+    return Collections.unmodifiableList(Arrays.asList(routes).subList(0, routeCount));
   }
 
-  RouterState setRoutes(Set<RouteImpl> routes) {
-    RouterState newState = new RouterState(
+  RouterState addRoute(RouteImpl route) {
+    final RouteImpl[] routes;
+    if (this.routes != null && routeCount < this.routes.length && this.routes[routeCount] == null && (routeCount == 0 || this.routes[routeCount - 1].order() <= route.order())) {
+      // the free slot is not used by any other state, append in place
+      routes = this.routes;
+      routes[routeCount] = route;
+    } else {
+      routes = new RouteImpl[capacity(routeCount + 1)];
+      // insert after the routes with the same order
+      int index = routeCount;
+      while (index > 0 && this.routes[index - 1].order() > route.order()) {
+        index--;
+      }
+      if (routeCount > 0) {
+        System.arraycopy(this.routes, 0, routes, 0, index);
+        System.arraycopy(this.routes, index, routes, index + 1, routeCount - index);
+      }
+      routes[index] = route;
+    }
+
+    return new RouterState(
       this.router,
-      new TreeSet<>(routeComparator),
+      routes,
+      this.routeCount + 1,
       this.orderSequence,
       this.errorHandlers,
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
-
-    newState.routes.addAll(routes);
-    return newState;
+      this.metadata,
+      this.routeMatching);
   }
 
-  RouterState addRoute(RouteImpl route) {
-    TreeSet<RouteImpl> routes = new TreeSet<>(routeComparator);
-    if (this.routes != null) {
-      routes.addAll(this.routes);
+  /**
+   * Adds several routes at once, this is the same as adding the routes one by one in the order of the list.
+   */
+  RouterState addRoutes(List<RouteImpl> added) {
+    final RouteImpl[] sorted = added.toArray(new RouteImpl[0]);
+    // the sort is stable, routes with the same order keep their registration order
+    Arrays.sort(sorted, routeComparator);
+
+    final RouteImpl[] routes = new RouteImpl[capacity(routeCount + sorted.length)];
+    int i = 0, j = 0, k = 0;
+    while (i < routeCount && j < sorted.length) {
+      // existing routes go first when the order is the same
+      routes[k++] = this.routes[i].order() <= sorted[j].order() ? this.routes[i++] : sorted[j++];
+    }
+    while (i < routeCount) {
+      routes[k++] = this.routes[i++];
+    }
+    while (j < sorted.length) {
+      routes[k++] = sorted[j++];
     }
-    routes.add(route);
 
     return new RouterState(
       this.router,
       routes,
+      k,
       this.orderSequence,
       this.errorHandlers,
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
   }
 
   RouterState clearRoutes() {
     return new RouterState(
       this.router,
-      new TreeSet<>(routeComparator),
+      null,
+      0,
       this.orderSequence,
       this.errorHandlers,
       null,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
   }
 
   RouterState removeRoute(RouteImpl route) {
-    TreeSet<RouteImpl> routes = new TreeSet<>(routeComparator);
-    if (this.routes != null) {
-      routes.addAll(this.routes);
+    int index = -1;
+    for (int i = 0; i < routeCount; i++) {
+      if (routes[i] == route) {
+        index = i;
+        break;
+      }
+    }
+    if (index == -1) {
+      return this;
     }
-    routes.remove(route);
+
+    final RouteImpl[] routes = new RouteImpl[capacity(routeCount - 1)];
+    System.arraycopy(this.routes, 0, routes, 0, index);
+    System.arraycopy(this.routes, index + 1, routes, index, routeCount - index - 1);
 
     return new RouterState(
       this.router,
       routes,
+      this.routeCount - 1,
       this.orderSequence,
       this.errorHandlers,
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
+  }
+
+  private static int capacity(int size) {
+    // leave room to append routes in place
+    return Math.max(8, size + (size >> 1));
   }
 
   public int getOrderSequence() {
@@ -167,24 +213,28 @@ final class RouterState {
     return new RouterState(
       this.router,
       this.routes,
+      this.routeCount,
       this.orderSequence + 1,
       this.errorHandlers,
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
   }
 
   RouterState setOrderSequence(int orderSequence) {
     return new RouterState(
       this.router,
       this.routes,
+      this.routeCount,
       orderSequence,
       this.errorHandlers,
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
   }
 
   public Map<Integer, Handler<RoutingContext>> getErrorHandlers() {
@@ -195,12 +245,14 @@ final class RouterState {
     return new RouterState(
       this.router,
       this.routes,
+      this.routeCount,
       this.orderSequence,
       errorHandlers,
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
   }
 
   Handler<RoutingContext> getErrorHandler(int errorCode) {
@@ -217,12 +269,14 @@ final class RouterState {
     RouterState newState = new RouterState(
       this.router,
       this.routes,
+      this.routeCount,
       this.orderSequence,
       this.errorHandlers == null ? new HashMap<>() : new HashMap<>(errorHandlers),
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
 
     newState.errorHandlers.put(errorCode, errorHandler);
     return newState;
@@ -232,12 +286,14 @@ final class RouterState {
     return new RouterState(
       this.router,
       this.routes,
+      this.routeCount,
       this.orderSequence,
       this.errorHandlers,
       errorHandler,
       this.modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
   }
 
   public Handler<Router> getModifiedHandler() {
@@ -248,24 +304,28 @@ final class RouterState {
     return new RouterState(
       this.router,
       this.routes,
+      this.routeCount,
       this.orderSequence,
       this.errorHandlers,
       this.uncaughtErrorHandler,
       modifiedHandler,
       this.allowForward,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
   }
 
   public RouterState setAllowForward(AllowForwardHeaders allow) {
     return new RouterState(
       this.router,
       this.routes,
+      this.routeCount,
       this.orderSequence,
       this.errorHandlers,
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       allow,
-      this.metadata);
+      this.metadata,
+      this.routeMatching);
   }
 
   public AllowForwardHeaders getAllowForward() {
@@ -282,28 +342,80 @@ final class RouterState {
     return new RouterState(
       this.router,
       this.routes,
+      this.routeCount,
       this.orderSequence,
       this.errorHandlers,
       this.uncaughtErrorHandler,
       this.modifiedHandler,
       this.allowForward,
-      Collections.unmodifiableMap(metadata));
+      Collections.unmodifiableMap(metadata),
+      this.routeMatching);
   }
 
   public Map<String, Object> getMetadata() {
     return metadata;
   }
 
+  public RouteMatching getRouteMatching() {
+    return routeMatching;
+  }
+
+  public RouterState setRouteMatching(RouteMatching routeMatching) {
+    return new RouterState(
+      this.router,
+      this.routes,
+      this.routeCount,
+      this.orderSequence,
+      this.errorHandlers,
+      this.uncaughtErrorHandler,
+      this.modifiedHandler,
+      this.allowForward,
+      this.metadata,
+      routeMatching);
+  }
+
+  /**
+   * Creates a copy of this state, discarding the snapshot of the routes. This is required when a route changes after
+   * it has been added to the router.
+   */
+  RouterState reindex() {
+    return new RouterState(
+      this.router,
+      this.routes,
+      this.routeCount,
+      this.orderSequence,
+      this.errorHandlers,
+      this.uncaughtErrorHandler,
+      this.modifiedHandler,
+      this.allowForward,
+      this.metadata,
+      this.routeMatching);
+  }
+
+  /**
+   * Returns a snapshot of the routes to be evaluated for a request with the given method, in order.
+   */
+  RouteList snapshot(HttpMethod method) {
+    if (routeCount == 0) {
+      return RouteList.EMPTY;
+    }
+    RouteBuckets buckets = routeBuckets;
+    if (buckets == null) {
+      routeBuckets = buckets = new RouteBuckets(routes, routeCount, routeMatching);
+    }
+    return buckets.routes(method);
+  }
 
   @Override
   public String toString() {
     return "RouterState{" +
-      "routes=" + routes +
+      "routes=" + getRoutes() +
       ", orderSequence=" + orderSequence +
       ", errorHandlers=" + errorHandlers +
       ", modifiedHandler=" + modifiedHandler +
       ", this.allowForward=" + allowForward +
       ", metadata=" + metadata +
+      ", routeMatching=" + routeMatching +
       '}';
   }
 }
@@ -9,6 +9,7 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.auth.audit.SecurityAudit;
 import io.vertx.ext.web.*;
 
@@ -263,6 +264,21 @@ public class RoutingContextDecorator implements RoutingContextInternal {
     decoratedContext.setBody(body);
   }
 
+  @Override
+  public void setBodyChunks(List<Buffer> chunks) {
+    decoratedContext.setBodyChunks(chunks);
+  }
+
+  @Override
+  public void setJsonBody(Buffer body, int length, Object json) {
+    decoratedContext.setJsonBody(body, length, json);
+  }
+
+  @Override
+  public void setBodyStream(ReadStream<Buffer> stream) {
+    decoratedContext.setBodyStream(stream);
+  }
+
   @Override
   public void setSession(Session session) {
     decoratedContext.setSession(session);
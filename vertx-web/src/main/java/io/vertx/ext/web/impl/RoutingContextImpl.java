@@ -25,6 +25,7 @@ import io.vertx.core.internal.ContextInternal;
 import io.vertx.core.internal.http.HttpServerRequestInternal;
 import io.vertx.core.internal.http.QueryParamDecoder;
 import io.vertx.core.internal.net.RFC3986;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.*;
 import io.vertx.ext.web.handler.HttpException;
 import io.vertx.ext.web.handler.impl.UserHolder;
@@ -46,7 +47,7 @@ public class RoutingContextImpl extends RoutingContextImplBase {
   private final RequestBodyImpl body;
 
   private Map<String, Object> data;
-  private Map<String, String> pathParams;
+  private PathParams pathParams;
   private MultiMap queryParams;
   private HandlersList<Void> headersEndHandlers;
   private HandlersList<Void> bodyEndHandlers;
@@ -67,7 +68,7 @@ public class RoutingContextImpl extends RoutingContextImplBase {
   private volatile boolean isSessionAccessed = false;
   private volatile boolean endHandlerCalled = false;
 
-  public RoutingContextImpl(String mountPoint, RouterImpl router, HttpServerRequest request, Set<RouteImpl> routes) {
+  public RoutingContextImpl(String mountPoint, RouterImpl router, HttpServerRequest request, RouterState routes) {
     super(mountPoint, routes, router);
     this.router = router;
     this.request = new HttpServerRequestWrapper(request, router.getAllowForward(), this);
@@ -100,26 +101,6 @@ public class RoutingContextImpl extends RoutingContextImplBase {
     }
   }
 
-  private String ensureNotNull(String string) {
-    return string == null ? "" : string;
-  }
-
-  private void fillParsedHeaders(HttpServerRequest request) {
-    String accept = request.getHeader(HttpHeaders.ACCEPT);
-    String acceptCharset = request.getHeader(HttpHeaders.ACCEPT_CHARSET);
-    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
-    String acceptLanguage = request.getHeader(HttpHeaders.ACCEPT_LANGUAGE);
-    String contentType = ensureNotNull(request.getHeader(HttpHeaders.CONTENT_TYPE));
-
-    parsedHeaders = new ParsableHeaderValuesContainer(
-      HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(accept, ParsableMIMEValue::new)),
-      HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(acceptCharset, ParsableHeaderValue::new)),
-      HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(acceptEncoding, ParsableHeaderValue::new)),
-      HeaderParser.sort(HeaderParser.convertToParsedHeaderValues(acceptLanguage, ParsableLanguageValue::new)),
-      new ParsableMIMEValue(contentType)
-    );
-  }
-
   @Override
   public HttpServerRequest request() {
     return request;
@@ -293,6 +274,21 @@ public class RoutingContextImpl extends RoutingContextImplBase {
     this.body.setBuffer(body);
   }
 
+  @Override
+  public void setBodyChunks(List<Buffer> chunks) {
+    this.body.setChunks(chunks);
+  }
+
+  @Override
+  public void setJsonBody(Buffer body, int length, Object json) {
+    this.body.setJson(body, length, json);
+  }
+
+  @Override
+  public void setBodyStream(ReadStream<Buffer> stream) {
+    this.body.setStream(stream);
+  }
+
   @Override
   public List<FileUpload> fileUploads() {
     if (fileUploads == null) {
@@ -359,7 +355,7 @@ public class RoutingContextImpl extends RoutingContextImplBase {
   @Override
   public ParsableHeaderValuesContainer parsedHeaders() {
     if (parsedHeaders == null) {
-      fillParsedHeaders(request);
+      parsedHeaders = new ParsableHeaderValuesContainer(request);
     }
     return parsedHeaders;
   }
@@ -426,7 +422,7 @@ public class RoutingContextImpl extends RoutingContextImplBase {
 
   @Override
   public @Nullable String pathParam(String name) {
-    return getPathParams().get(name);
+    return pathParams == null ? null : pathParams.get(name);
   }
 
   @Override
@@ -469,11 +465,19 @@ public class RoutingContextImpl extends RoutingContextImplBase {
 
   private Map<String, String> getPathParams() {
     if (pathParams == null) {
-      pathParams = new HashMap<>();
+      pathParams = new PathParams();
     }
     return pathParams;
   }
 
+  @Override
+  void removeRestParam() {
+    // avoid creating the path params
+    if (pathParams != null) {
+      pathParams.remove("*");
+    }
+  }
+
   private HandlersList<Void> getHeadersEndHandlers() {
     if (headersEndHandlers == null) {
       headersEndHandlers = new HandlersList<>();
@@ -529,7 +533,7 @@ public class RoutingContextImpl extends RoutingContextImplBase {
   }
 
   private void doFail() {
-    this.iter = router.iterator();
+    iterate(router.state());
     currentRoute = null;
     next();
   }
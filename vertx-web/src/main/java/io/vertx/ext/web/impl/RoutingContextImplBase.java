@@ -29,7 +29,6 @@ import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.HttpException;
 
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -46,14 +45,21 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
 
   protected static final Logger LOG = LoggerFactory.getLogger(RoutingContext.class);
 
-  private final Set<RouteImpl> routes;
+  private final RouterState routes;
 
   protected final Router currentRouter;
   protected final String mountPoint;
   private volatile int currentRouteNextHandlerIndex;
   private volatile int currentRouteNextFailureHandlerIndex;
-  protected Iterator<RouteImpl> iter;
+  // the routes being iterated, null until the iteration starts
+  private RouteList routeList;
+  // the indexes of the routes to iterate in the list, null to iterate the whole list
+  private int[] routeSelection;
+  private int routeCount;
+  private int nextRoute;
   protected RouteState currentRoute;
+  // the position in the router of the last matching route
+  private int lastMatch;
   // When Route#matches executes, if it returns != 0 this flag is configured
   // to write the correct status code at the end of routing process
   int matchFailure;
@@ -69,10 +75,9 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
 
   protected Set<MIMEHeader> allowedContentTypes = new HashSet<>();
 
-  RoutingContextImplBase(String mountPoint, Set<RouteImpl> routes, Router currentRouter) {
+  RoutingContextImplBase(String mountPoint, RouterState routes, Router currentRouter) {
     this.mountPoint = mountPoint;
     this.routes = routes;
-    this.iter = routes.iterator();
     this.securityAudit = SecurityAudit.NOOP;
 
     this.currentRouter = currentRouter;
@@ -155,8 +160,27 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
     return currentRouteNextFailureHandlerIndex;
   }
 
+  /**
+   * Starts iterating the routes of the given router state.
+   */
+  void iterate(RouterState state) {
+    routeList = state.snapshot(request().method());
+    routeSelection = routeList.select(this);
+    routeCount = routeSelection == null ? routeList.size() : routeSelection.length;
+    nextRoute = 0;
+    lastMatch = -1;
+  }
+
+  /**
+   * Removes the "rest" path parameter matched by a previous route.
+   */
+  void removeRestParam() {
+    pathParams().remove("*");
+  }
+
   void restart() {
-    this.iter = routes.iterator();
+    // the routes are selected lazily as they may depend on the request path
+    this.routeList = null;
     currentRoute = null;
     next();
   }
@@ -193,10 +217,15 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
         return true;
       }
     }
+    if (routeList == null) {
+      iterate(routes);
+    }
     // Search for more handlers
-    while (iter.hasNext()) {
+    while (nextRoute < routeCount) {
+      final int index = routeSelection == null ? nextRoute : routeSelection[nextRoute];
+      nextRoute++;
       // state is locked at this moment
-      RouteState routeState = iter.next().state();
+      RouteState routeState = routeList.get(index);
 
       CURRENT_ROUTE_NEXT_HANDLER_INDEX.set(this, 0);
       CURRENT_ROUTE_NEXT_FAILURE_HANDLER_INDEX.set(this, 0);
@@ -206,6 +235,7 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
           if (LOG.isTraceEnabled()) {
             LOG.trace("Route matches: " + routeState);
           }
+          lastMatch = routeList.position(index);
           resetMatchFailure();
           try {
             currentRoute = routeState;
@@ -253,6 +283,46 @@ public abstract class RoutingContextImplBase implements RoutingContextInternal {
         return true;
       }
     }
+    return iterateOtherMethods(failed);
+  }
+
+  /**
+   * Routes restricted to other HTTP methods are not iterated, once all other routes have been tried evaluate them so a
+   * path matching under a different method is still reported as a 405. As when all routes are iterated, only the
+   * routes after the last matching route can turn a 404 into a 405.
+   *
+   * @return true if the evaluation failed and the failure was handled
+   */
+  private boolean iterateOtherMethods(boolean failed) {
+    final RouteList others = routeList.others();
+    if (others == null || others.size() == 0) {
+      return false;
+    }
+    final int[] selection = others.select(this);
+    final int count = selection == null ? others.size() : selection.length;
+    for (int i = 0; i < count; i++) {
+      final int index = selection == null ? i : selection[i];
+      RouteState routeState = others.get(index);
+
+      CURRENT_ROUTE_NEXT_HANDLER_INDEX.set(this, 0);
+      CURRENT_ROUTE_NEXT_FAILURE_HANDLER_INDEX.set(this, 0);
+      try {
+        if (routeState.matches(this, mountPoint(), failed) == 405) {
+          allowedMethods.addAll(routeState.getMethods());
+          if (this.matchFailure == 404 && others.position(index) > lastMatch) {
+            this.matchFailure = 405;
+          }
+        }
+      } catch (Throwable e) {
+        if (LOG.isTraceEnabled()) {
+          LOG.trace("IllegalArgumentException thrown during iteration", e);
+        }
+        if (!this.response().ended()) {
+          unhandledFailure((e instanceof IllegalArgumentException) ? 400 : -1, e, routeState.getRouter());
+        }
+        return true;
+      }
+    }
     return false;
   }
 
@@ -18,11 +18,14 @@ package io.vertx.ext.web.impl;
 import io.vertx.codegen.annotations.CacheReturn;
 import io.vertx.codegen.annotations.Nullable;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.auth.audit.SecurityAudit;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.Session;
 
+import java.util.List;
+
 /**
  * Internal methods that are not expected or prime to be in the public API
  *
@@ -97,6 +100,29 @@ public interface RoutingContextInternal extends RoutingContext {
    */
   void setBody(Buffer body);
 
+  /**
+   * Set a body received in chunks. Used by the {@link io.vertx.ext.web.handler.BodyHandler}.
+   *
+   * @param chunks  the chunks of the body
+   */
+  void setBodyChunks(List<Buffer> chunks);
+
+  /**
+   * Set a JSON body parsed while it was received. Used by the {@link io.vertx.ext.web.handler.BodyHandler}.
+   *
+   * @param body  the raw body, {@code null} if it was discarded
+   * @param length  the length of the raw body
+   * @param json  the parsed value
+   */
+  void setJsonBody(Buffer body, int length, Object json);
+
+  /**
+   * Set the stream of a body that is not gathered. Used by the {@link io.vertx.ext.web.handler.BodyHandler}.
+   *
+   * @param stream  the body stream
+   */
+  void setBodyStream(ReadStream<Buffer> stream);
+
   /**
    * Set the session. Used by the {@link io.vertx.ext.web.handler.SessionHandler}.
    *
@@ -25,12 +25,12 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.*;
 
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
@@ -40,8 +40,8 @@ public class RoutingContextWrapper extends RoutingContextImplBase {
   protected final RoutingContextInternal inner;
   private final String mountPoint;
 
-  public RoutingContextWrapper(String mountPoint, Set<RouteImpl> iter, RoutingContextInternal inner, Router currentRouter) {
-    super(mountPoint, iter, currentRouter);
+  public RoutingContextWrapper(String mountPoint, RouterState routes, RoutingContextInternal inner, Router currentRouter) {
+    super(mountPoint, routes, currentRouter);
     this.inner = inner;
     String parentMountPoint = inner.mountPoint();
     if (parentMountPoint == null) {
@@ -234,6 +234,21 @@ public class RoutingContextWrapper extends RoutingContextImplBase {
     inner.setBody(body);
   }
 
+  @Override
+  public void setBodyChunks(List<Buffer> chunks) {
+    inner.setBodyChunks(chunks);
+  }
+
+  @Override
+  public void setJsonBody(Buffer body, int length, Object json) {
+    inner.setJsonBody(body, length, json);
+  }
+
+  @Override
+  public void setBodyStream(ReadStream<Buffer> stream) {
+    inner.setBodyStream(stream);
+  }
+
   @Override
   public List<FileUpload> fileUploads() {
     return inner.fileUploads();
@@ -274,6 +289,15 @@ public class RoutingContextWrapper extends RoutingContextImplBase {
     return inner.pathParam(name);
   }
 
+  @Override
+  void removeRestParam() {
+    if (inner instanceof RoutingContextImplBase) {
+      ((RoutingContextImplBase) inner).removeRestParam();
+    } else {
+      inner.pathParams().remove("*");
+    }
+  }
+
   @Override
   public MultiMap queryParams() {
     return inner.queryParams();
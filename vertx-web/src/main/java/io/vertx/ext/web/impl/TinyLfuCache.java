@@ -0,0 +1,285 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.json.JsonObject;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded concurrent cache with a TinyLFU admission policy.
+ * <p>
+ * The entries are split in segments by hash, each segment is an LRU map guarded by its own lock, so concurrent
+ * accesses to different keys rarely contend. The access frequency of the keys is estimated with a count-min sketch
+ * that is periodically halved. When a segment is full, a new key is only admitted if it was accessed more often than
+ * the least recently used key of the segment, which is then evicted. Keys accessed once, like the ones of a crawler
+ * scanning a site, cannot flush the keys that are accessed often.
+ * <p>
+ * This class is thread-safe
+ */
+public final class TinyLfuCache<K, V> {
+
+  private static final int MAX_SEGMENTS = tableSizeFor(Math.max(2 * Runtime.getRuntime().availableProcessors(), 16));
+
+  private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+    private int capacity;
+
+    Segment(int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+  }
+
+  private final Segment<K, V>[] segments;
+  private final FrequencySketch sketch;
+  private volatile int maxSize;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+
+  @SuppressWarnings("unchecked")
+  public TinyLfuCache(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be >= 1");
+    }
+    this.maxSize = maxSize;
+    this.segments = new Segment[Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize))];
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment<>(segmentCapacity(maxSize, segments.length, i));
+    }
+    this.sketch = new FrequencySketch(maxSize);
+  }
+
+  /**
+   * @return the capacity of a segment, the capacities of all the segments add up to the max size
+   */
+  private static int segmentCapacity(int maxSize, int segments, int segment) {
+    return maxSize / segments + (segment < maxSize % segments ? 1 : 0);
+  }
+
+  public int maxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Changes the max size of the cache, the segments keep their number.
+   */
+  public void setMaxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be >= 1");
+    }
+    this.maxSize = maxSize;
+    for (int i = 0; i < segments.length; i++) {
+      final Segment<K, V> segment = segments[i];
+      synchronized (segment) {
+        final int capacity = segmentCapacity(maxSize, segments.length, i);
+        segment.capacity = capacity;
+        final Iterator<V> it = segment.values().iterator();
+        while (segment.size() > capacity && it.hasNext()) {
+          it.next();
+          it.remove();
+          evictions.increment();
+        }
+      }
+    }
+  }
+
+  public V get(K key) {
+    final int hash = hash(key);
+    sketch.increment(hash);
+    final Segment<K, V> segment = segmentFor(hash);
+    final V value;
+    synchronized (segment) {
+      value = segment.get(key);
+    }
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * @return the cached value, without recording an access
+   */
+  public V peek(K key) {
+    final Segment<K, V> segment = segmentFor(hash(key));
+    synchronized (segment) {
+      return segment.get(key);
+    }
+  }
+
+  /**
+   * Puts a value in the cache. A value replaces the value of a cached key, a new key is only admitted when its
+   * segment is not full, or when it is accessed more often than the least recently used key of its segment.
+   *
+   * @return whether the value is cached
+   */
+  public boolean put(K key, V value) {
+    final int hash = hash(key);
+    final Segment<K, V> segment = segmentFor(hash);
+    synchronized (segment) {
+      if (segment.size() < segment.capacity || segment.containsKey(key)) {
+        segment.put(key, value);
+        return true;
+      }
+      if (segment.isEmpty()) {
+        // the max size was reduced below the number of segments
+        rejections.increment();
+        return false;
+      }
+      final Iterator<Map.Entry<K, V>> it = segment.entrySet().iterator();
+      final K victim = it.next().getKey();
+      if (sketch.frequency(hash) <= sketch.frequency(hash(victim))) {
+        rejections.increment();
+        return false;
+      }
+      it.remove();
+      evictions.increment();
+      segment.put(key, value);
+      return true;
+    }
+  }
+
+  public V remove(K key) {
+    final Segment<K, V> segment = segmentFor(hash(key));
+    synchronized (segment) {
+      return segment.remove(key);
+    }
+  }
+
+  public void clear() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  public JsonObject statistics() {
+    return new JsonObject()
+      .put("hits", hits.sum())
+      .put("misses", misses.sum())
+      .put("evictions", evictions.sum())
+      .put("rejections", rejections.sum())
+      .put("size", size())
+      .put("maxSize", maxSize);
+  }
+
+  private Segment<K, V> segmentFor(int hash) {
+    return segments[(hash >>> 16) & (segments.length - 1)];
+  }
+
+  private static int hash(Object key) {
+    // spread the bits of poor hash codes, e.g. small integers, to select the segments
+    final int h = key.hashCode() * 0x9e3779b9;
+    return h ^ (h >>> 16);
+  }
+
+  private static int tableSizeFor(int n) {
+    return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+
+  /**
+   * A count-min sketch of 4-bit counters estimating the access frequency of the keys, with 4 counters per key. The
+   * counters are halved once the number of increments reaches 10 times the size of the cache, so the estimates follow
+   * the recent accesses.
+   */
+  private static final class FrequencySketch {
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    // 16 counters per long
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    FrequencySketch(int maxSize) {
+      final int size = tableSizeFor(Math.max(maxSize, 16));
+      this.table = new AtomicLongArray(size);
+      this.mask = size - 1;
+      this.sampleSize = 10 * size;
+    }
+
+    int frequency(int hash) {
+      int frequency = 15;
+      for (int i = 0; i < SEEDS.length; i++) {
+        final int h = index(hash, i);
+        final int shift = (h >>> 28) << 2;
+        frequency = Math.min(frequency, (int) ((table.get(h & mask) >>> shift) & 0xf));
+      }
+      return frequency;
+    }
+
+    void increment(int hash) {
+      boolean added = false;
+      for (int i = 0; i < SEEDS.length; i++) {
+        final int h = index(hash, i);
+        final int idx = h & mask;
+        final int shift = (h >>> 28) << 2;
+        long value;
+        while (((value = table.get(idx)) >>> shift & 0xf) != 0xf) {
+          if (table.compareAndSet(idx, value, value + (1L << shift))) {
+            added = true;
+            break;
+          }
+        }
+      }
+      if (added) {
+        final int n = additions.incrementAndGet();
+        if (n >= sampleSize && additions.compareAndSet(n, 0)) {
+          reset();
+        }
+      }
+    }
+
+    private void reset() {
+      for (int i = 0; i < table.length(); i++) {
+        long value;
+        do {
+          value = table.get(i);
+        } while (!table.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+      }
+    }
+
+    private static int index(int hash, int i) {
+      long h = (hash + SEEDS[i]) * SEEDS[i];
+      h += h >>> 32;
+      return (int) h;
+    }
+  }
+}
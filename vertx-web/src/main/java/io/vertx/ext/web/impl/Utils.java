@@ -16,10 +16,14 @@
 
 package io.vertx.ext.web.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.internal.buffer.BufferInternal;
 import io.vertx.core.internal.net.RFC3986;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
@@ -33,6 +37,7 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Base64;
+import java.util.List;
 import java.util.Locale;
 import java.util.regex.Pattern;
 
@@ -145,6 +150,25 @@ public class Utils {
     return contentType.contains("application/json") || contentType.contains("+json");
   }
 
+  /**
+   * Wraps a list of buffers in a composite buffer without copying them, the buffers are only copied when a contiguous
+   * array is needed.
+   */
+  public static Buffer compositeBuffer(List<Buffer> buffers) {
+    switch (buffers.size()) {
+      case 0:
+        return Buffer.buffer();
+      case 1:
+        return buffers.get(0);
+      default:
+        final ByteBuf[] components = new ByteBuf[buffers.size()];
+        for (int i = 0; i < components.length; i++) {
+          components[i] = ((BufferInternal) buffers.get(i)).getByteBuf();
+        }
+        return BufferInternal.buffer(Unpooled.wrappedBuffer(components.length, components));
+    }
+  }
+
   public static boolean isXMLContentType(String contentType) {
     return contentType.contains("application/xml") || contentType.contains("text/xml") || contentType.contains("+xml");
   }
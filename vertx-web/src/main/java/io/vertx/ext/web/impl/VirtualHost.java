@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.impl;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.HostAndPort;
+
+import java.util.regex.Pattern;
+
+/**
+ * The virtual host filter of a route.
+ * <p>
+ * Host name patterns are translated to case-insensitive regular expressions where {@code *} matches anything. Most
+ * patterns are plain host names ({@code www.example.com}) or plain host names with a leading wildcard
+ * ({@code *.example.com}), these are matched by comparing strings and can be indexed. The other patterns are matched
+ * with the regular expression.
+ * <p>
+ * This class is immutable and thread-safe
+ */
+final class VirtualHost {
+
+  // regular expression chars that are not escaped in host name patterns
+  private static final String REGEX_CHARS = "\\^$|?+()[]{}*";
+
+  private final Pattern pattern;
+  // the lower case host name of an exact pattern, null otherwise
+  private final String host;
+  // the lower case suffix following the leading wildcard of a wildcard pattern, null otherwise
+  private final String suffix;
+
+  private VirtualHost(Pattern pattern, String host, String suffix) {
+    this.pattern = pattern;
+    this.host = host;
+    this.suffix = suffix;
+  }
+
+  static VirtualHost create(String hostnamePattern) {
+    final Pattern pattern = Pattern.compile(
+      hostnamePattern
+        .replaceAll("\\.", "\\\\.")
+        .replaceAll("[*]", "(.*?)"), Pattern.CASE_INSENSITIVE);
+
+    if (isLiteral(hostnamePattern, 0)) {
+      return new VirtualHost(pattern, toLowerCase(hostnamePattern), null);
+    }
+    if (hostnamePattern.charAt(0) == '*' && isLiteral(hostnamePattern, 1)) {
+      return new VirtualHost(pattern, null, toLowerCase(hostnamePattern.substring(1)));
+    }
+    return new VirtualHost(pattern, null, null);
+  }
+
+  private static boolean isLiteral(String hostnamePattern, int start) {
+    for (int i = start; i < hostnamePattern.length(); i++) {
+      final char c = hostnamePattern.charAt(i);
+      // the pattern is case-insensitive for US-ASCII only
+      if (c > 0x7f || REGEX_CHARS.indexOf(c) != -1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  Pattern pattern() {
+    return pattern;
+  }
+
+  /**
+   * @return the lower case host name matched by this filter, or {@code null} if it is not an exact host name
+   */
+  String host() {
+    return host;
+  }
+
+  /**
+   * @return the lower case suffix of the host names matched by this filter, or {@code null} if it is not a wildcard
+   * followed by a host name suffix
+   */
+  String suffix() {
+    return suffix;
+  }
+
+  /**
+   * @param hostName the lower case host name of the request, as returned by {@link #hostName(HttpServerRequest)}
+   */
+  boolean matches(String hostName) {
+    if (hostName == null) {
+      return false;
+    }
+    if (host != null) {
+      return host.equals(hostName);
+    }
+    if (suffix != null) {
+      return hostName.endsWith(suffix);
+    }
+    return pattern.matcher(hostName).matches();
+  }
+
+  /**
+   * @return the lower case host name of the request without port nor IPv6 brackets, or {@code null} if the request
+   * has no authority
+   */
+  static String hostName(HttpServerRequest request) {
+    HostAndPort authority = request.authority();
+    if (authority == null) {
+      return null;
+    }
+
+    String host = authority.host();
+    int len = host.length();
+
+    // knowing that the shortest IPv6 is [::]
+    if (len > 3 && host.charAt(0) == '[') {
+      // attempt to parse IPv6
+      int delim = host.indexOf(']');
+      if (delim != -1) {
+        // the delim must be the terminal character OR right before a ':'
+        if (delim == len - 1 || host.charAt(delim + 1) == ':') {
+          // OK
+          return toLowerCase(host.substring(1, delim));
+        }
+      }
+    }
+
+    // assume IPv4 or name
+    int portSeparatorIdx = host.lastIndexOf(':');
+    if (portSeparatorIdx != -1) {
+      host = host.substring(0, portSeparatorIdx);
+    }
+
+    return toLowerCase(host);
+  }
+
+  /**
+   * Lower cases the US-ASCII chars of a string, as the case-insensitive matching of the patterns does.
+   */
+  private static String toLowerCase(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      if (c >= 'A' && c <= 'Z') {
+        final char[] chars = s.toCharArray();
+        for (int j = i; j < chars.length; j++) {
+          if (chars[j] >= 'A' && chars[j] <= 'Z') {
+            chars[j] += 'a' - 'A';
+          }
+        }
+        return new String(chars);
+      }
+    }
+    return s;
+  }
+
+  @Override
+  public String toString() {
+    return pattern.toString();
+  }
+}
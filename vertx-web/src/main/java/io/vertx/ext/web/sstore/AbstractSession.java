@@ -95,6 +95,8 @@ public abstract class AbstractSession implements Session, SessionInternal {
 
   protected void setLastAccessed(long lastAccessed) {
     this.lastAccessed = lastAccessed;
+    // a session is stored when it is accessed
+    this.lastRenewed = lastAccessed;
   }
 
   protected void setVersion(int version) {
@@ -106,6 +108,8 @@ public abstract class AbstractSession implements Session, SessionInternal {
   private boolean renewed;
   private String oldId;
   private int crc;
+  private long lastRenewed;
+  private boolean renewedOnLoad;
 
   /**
    * This constructor is <b>mandatory</b> (even though not referenced anywhere) is required for
@@ -133,6 +137,8 @@ public abstract class AbstractSession implements Session, SessionInternal {
   @Override
   public void flushed(boolean skipCrc) {
     renewed = false;
+    lastRenewed = lastAccessed;
+    renewedOnLoad = false;
     if (oldId != null) {
       if (!skipCrc) {
         crc = checksum();
@@ -267,6 +273,27 @@ public abstract class AbstractSession implements Session, SessionInternal {
     return oldId;
   }
 
+  @Override
+  public boolean isModified() {
+    return crc != checksum();
+  }
+
+  @Override
+  public long lastRenewed() {
+    return lastRenewed;
+  }
+
+  @Override
+  public boolean isRenewedOnLoad() {
+    return renewedOnLoad;
+  }
+
+  @Override
+  public void setRenewedOnLoad(long lastRenewed) {
+    this.lastRenewed = lastRenewed;
+    this.renewedOnLoad = true;
+  }
+
   public int version() {
     return version;
   }
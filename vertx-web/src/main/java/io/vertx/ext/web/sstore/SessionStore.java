@@ -147,6 +147,19 @@ public interface SessionStore {
    */
   Future<Void> put(Session session);
 
+  /**
+   * Renew the expiry of a stored session whose data did not change, without storing its data again. A store can extend
+   * the time to live of the session, e.g. with a single command, instead of serializing the whole session.
+   * <p>
+   * The default implementation stores the session again with {@link #put(Session)}.
+   *
+   * @param session  the session
+   * @return future that will be called with a result, or a failure
+   */
+  default Future<Void> touch(Session session) {
+    return put(session);
+  }
+
   /**
    * Remove all sessions from the store.
    *
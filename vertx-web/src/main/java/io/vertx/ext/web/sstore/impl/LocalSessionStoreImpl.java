@@ -30,9 +30,6 @@ import io.vertx.ext.web.sstore.AbstractSession;
 import io.vertx.ext.web.sstore.LocalSessionStore;
 import io.vertx.ext.web.sstore.SessionStore;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * @author <a href="http://tfox.org">Tim Fox</a>
  */
@@ -48,8 +45,20 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
    */
   private static final String DEFAULT_SESSION_MAP_NAME = "vertx-web.sessions";
 
+  /**
+   * Name of the map of the expiry indexes of the session maps
+   */
+  private static final String EXPIRY_INDEX_MAP_NAME = "vertx-web.sessions.expiry";
+
+  /**
+   * Max number of sessions checked by a run of the reaper, the reaper runs again right away when more sessions are due
+   */
+  private static final int MAX_REAPED_SESSIONS = 10_000;
 
+  private String mapName;
   private LocalMap<String, Session> localMap;
+  // null when the reaper is disabled
+  private SessionExpiryIndex expiryIndex;
   private long reaperInterval;
   private VertxContextPRNG random;
 
@@ -74,8 +83,20 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
     this.random = VertxContextPRNG.current(vertx);
     this.vertx = (VertxInternal) vertx;
     this.reaperInterval = options.getLong("reaperInterval", DEFAULT_REAPER_INTERVAL);
-    localMap = vertx.sharedData().getLocalMap(options.getString("mapName", DEFAULT_SESSION_MAP_NAME));
-    setTimer();
+    this.mapName = options.getString("mapName", DEFAULT_SESSION_MAP_NAME);
+    localMap = vertx.sharedData().getLocalMap(mapName);
+    if (reaperInterval != 0) {
+      // the stores of the same map share the index, whatever the store a session is put with
+      final LocalMap<String, SessionExpiryIndex> expiryIndexes = vertx.sharedData().getLocalMap(EXPIRY_INDEX_MAP_NAME);
+      this.expiryIndex = expiryIndexes.compute(mapName, (name, index) -> {
+        if (index == null || !index.indexes(localMap)) {
+          index = new SessionExpiryIndex(localMap, reaperInterval);
+        }
+        index.retain();
+        return index;
+      });
+    }
+    setTimer(reaperInterval);
 
     return this;
   }
@@ -95,6 +116,9 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
   public Future<Void> delete(String id) {
     final ContextInternal ctx = vertx.getOrCreateContext();
     localMap.remove(id);
+    if (expiryIndex != null) {
+      expiryIndex.remove(id);
+    }
     return ctx.succeededFuture();
   }
 
@@ -113,6 +137,23 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
 
     newSession.incrementVersion();
     localMap.put(session.id(), session);
+    if (expiryIndex != null) {
+      expiryIndex.schedule(session.id(), session.lastAccessed() + session.timeout());
+    }
+    return ctx.succeededFuture();
+  }
+
+  @Override
+  public Future<Void> touch(Session session) {
+    if (localMap.get(session.id()) != session) {
+      // the session was reaped, or replaced by another instance
+      return put(session);
+    }
+    final ContextInternal ctx = vertx.getOrCreateContext();
+    // the stored session is the accessed instance
+    if (expiryIndex != null) {
+      expiryIndex.schedule(session.id(), session.lastAccessed() + session.timeout());
+    }
     return ctx.succeededFuture();
   }
 
@@ -120,6 +161,9 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
   public Future<Void> clear() {
     final ContextInternal ctx = vertx.getOrCreateContext();
     localMap.clear();
+    if (expiryIndex != null) {
+      expiryIndex.clear();
+    }
     return ctx.succeededFuture();
   }
 
@@ -132,6 +176,11 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
   @Override
   public synchronized void close() {
     localMap.close();
+    if (expiryIndex != null) {
+      // the index is removed with the last store using it
+      vertx.sharedData().<String, SessionExpiryIndex>getLocalMap(EXPIRY_INDEX_MAP_NAME)
+        .computeIfPresent(mapName, (name, index) -> index != expiryIndex || index.release() > 0 ? index : null);
+    }
     if (timerID != -1) {
       vertx.cancelTimer(timerID);
     }
@@ -140,27 +189,17 @@ public class LocalSessionStoreImpl implements SessionStore, LocalSessionStore, H
 
   @Override
   public synchronized void handle(Long tid) {
-    long now = System.currentTimeMillis();
-
-    Set<String> toRemove = new HashSet<>();
-
-    localMap.forEach((String id, Session session) -> {
-      if (now - session.lastAccessed() > session.timeout()) {
-        toRemove.add(id);
-      }
-    });
-
-    for (String id: toRemove) {
-      localMap.remove(id);
-    }
-    if (!closed) {
-      setTimer();
+    if (closed) {
+      return;
     }
+    // only the sessions due to expire are checked, a bounded number at a time not to stall the event loop
+    final boolean more = expiryIndex.reap(System.currentTimeMillis(), MAX_REAPED_SESSIONS);
+    setTimer(more ? 1 : reaperInterval);
   }
 
-  private void setTimer() {
+  private void setTimer(long delay) {
     if (reaperInterval != 0) {
-      timerID = vertx.setTimer(reaperInterval, this);
+      timerID = vertx.setTimer(delay, this);
     }
   }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.sstore.impl;
+
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import io.vertx.ext.web.Session;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The ids of the sessions of a local map, in buckets of the time they expire at.
+ * <p>
+ * A bucket spans {@code resolution} ms, the reaper only visits the buckets that are due instead of the whole map. The
+ * time a session is indexed at is never later than the time it expires at, since the last accessed time of a session
+ * only grows: a session accessed without being stored again is found in a due bucket, it is checked again and moved to
+ * the bucket of its actual expiry time.
+ * <p>
+ * The index is shared by the stores of the same map, it is kept in a local map until the last of these stores is
+ * closed. This class is thread-safe
+ */
+public final class SessionExpiryIndex implements Shareable {
+
+  // the indexed map
+  private final LocalMap<String, Session> map;
+  private final long resolution;
+  // the bucket of each indexed session
+  private final Map<String, Long> buckets = new ConcurrentHashMap<>();
+  // the sessions of each bucket, the key of a bucket is the end of its time span, in resolution units
+  private final ConcurrentNavigableMap<Long, Set<String>> sessions = new ConcurrentSkipListMap<>();
+
+  // the number of stores using the index, only updated while the index is computed in its local map
+  private int references;
+
+  public SessionExpiryIndex(LocalMap<String, Session> map, long resolution) {
+    this.map = map;
+    this.resolution = resolution;
+  }
+
+  /**
+   * @return whether the index is the index of the given map, a closed map is replaced by another map of the same name
+   */
+  boolean indexes(LocalMap<String, Session> map) {
+    return this.map == map;
+  }
+
+  void retain() {
+    references++;
+  }
+
+  /**
+   * @return the number of stores still using the index
+   */
+  int release() {
+    return --references;
+  }
+
+  /**
+   * Indexes a session, or moves it to another bucket.
+   *
+   * @param id the session id
+   * @param expiry the time the session expires at, in ms
+   */
+  public void schedule(String id, long expiry) {
+    final long bucket = expiry / resolution + 1;
+    final Long previous = buckets.put(id, bucket);
+    if (previous != null) {
+      if (previous == bucket) {
+        return;
+      }
+      final Set<String> ids = sessions.get(previous);
+      if (ids != null) {
+        ids.remove(id);
+      }
+    }
+    add(bucket, id);
+  }
+
+  /**
+   * Removes a session from the index.
+   *
+   * @param id the session id
+   */
+  public void remove(String id) {
+    final Long bucket = buckets.remove(id);
+    if (bucket != null) {
+      final Set<String> ids = sessions.get(bucket);
+      if (ids != null) {
+        ids.remove(id);
+      }
+    }
+  }
+
+  private void add(long bucket, String id) {
+    // a bucket removed by the reaper meanwhile is created again
+    sessions.compute(bucket, (key, ids) -> {
+      if (ids == null) {
+        ids = ConcurrentHashMap.newKeySet();
+      }
+      ids.add(id);
+      return ids;
+    });
+  }
+
+  /**
+   * Removes the expired sessions of the due buckets from the map.
+   *
+   * @param now the current time, in ms
+   * @param max the max number of sessions to visit
+   * @return whether due sessions remain to be visited
+   */
+  public boolean reap(long now, int max) {
+    final long due = now / resolution;
+    int visited = 0;
+    Map.Entry<Long, Set<String>> entry;
+    while ((entry = sessions.firstEntry()) != null && entry.getKey() <= due) {
+      final long bucket = entry.getKey();
+      final Set<String> ids = entry.getValue();
+      for (Iterator<String> it = ids.iterator(); it.hasNext(); ) {
+        if (visited++ == max) {
+          return true;
+        }
+        final String id = it.next();
+        it.remove();
+        final Session session = map.get(id);
+        if (session == null) {
+          // deleted
+          buckets.remove(id, bucket);
+        } else if (now - session.lastAccessed() > session.timeout()) {
+          map.removeIfPresent(id, session);
+          buckets.remove(id, bucket);
+        } else {
+          // accessed since it was indexed
+          schedule(id, session.lastAccessed() + session.timeout());
+        }
+      }
+      if (sessions.remove(bucket, ids)) {
+        // the sessions added to the bucket while it was visited
+        for (String id : ids) {
+          add(bucket, id);
+        }
+      }
+    }
+    return false;
+  }
+
+  void clear() {
+    buckets.clear();
+    sessions.clear();
+  }
+}
@@ -28,4 +28,34 @@ public interface SessionInternal {
    *                which is unnecessary.
    */
   void flushed(boolean skipCrc);
+
+  /**
+   * @return whether the data of this session changed since it was loaded from or written to the store
+   */
+  default boolean isModified() {
+    return true;
+  }
+
+  /**
+   * @return the time the expiry of the stored session was last renewed, by a put or a touch of the session store
+   */
+  default long lastRenewed() {
+    return 0L;
+  }
+
+  /**
+   * @return whether the store renewed the expiry of the stored session when it loaded it, the request that loaded the
+   * session then does not renew it again
+   */
+  default boolean isRenewedOnLoad() {
+    return false;
+  }
+
+  /**
+   * Mark the session as renewed by the store when it loaded it.
+   *
+   * @param lastRenewed the time of the renewal, in ms
+   */
+  default void setRenewedOnLoad(long lastRenewed) {
+  }
 }
@@ -16,15 +16,29 @@
 
 package io.vertx.ext.web.it.sstore;
 
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.handler.SessionHandler;
 import io.vertx.ext.web.sstore.LocalSessionStore;
+import io.vertx.ext.web.sstore.SessionStore;
+import io.vertx.ext.web.sstore.impl.LocalSessionStoreImpl;
 import io.vertx.ext.web.tests.handler.SessionHandlerTestBase;
 import io.vertx.test.core.TestUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -63,4 +77,89 @@ public class LocalSessionHandlerTest extends SessionHandlerTestBase {
 
     testRequest(HttpMethod.GET, "/", 500, "Internal Server Error");
   }
+
+  @Test
+  public void testReaper() {
+    LocalSessionStore store = LocalSessionStore.create(vertx, "testReaper", 10);
+    store.put(store.createSession(50)).await();
+    Session later = store.createSession(60_000);
+    store.put(later).await();
+    assertWaitUntil(() -> store.size().await() == 1);
+    assertNotNull(store.get(later.id()).await());
+    store.close();
+  }
+
+  @Test
+  public void testExpiryIndexSharedByStores() {
+    LocalMap<String, Object> indexes = vertx.sharedData().getLocalMap("vertx-web.sessions.expiry");
+    LocalSessionStore store1 = LocalSessionStore.create(vertx, "testExpiryIndexSharedByStores", 100);
+    Object index = indexes.get("testExpiryIndexSharedByStores");
+    assertNotNull(index);
+    LocalSessionStore store2 = LocalSessionStore.create(vertx, "testExpiryIndexSharedByStores", 100);
+    assertSame(index, indexes.get("testExpiryIndexSharedByStores"));
+    // the index is kept until the last store is closed
+    store1.close();
+    assertSame(index, indexes.get("testExpiryIndexSharedByStores"));
+    store2.close();
+    assertNull(indexes.get("testExpiryIndexSharedByStores"));
+  }
+
+  @Test
+  public void testTouchUnchangedSession() throws Exception {
+    AtomicInteger puts = new AtomicInteger();
+    AtomicInteger touches = new AtomicInteger();
+    SessionStore countingStore = new LocalSessionStoreImpl() {
+      @Override
+      public Future<Void> put(Session session) {
+        puts.incrementAndGet();
+        return super.put(session);
+      }
+
+      @Override
+      public Future<Void> touch(Session session) {
+        touches.incrementAndGet();
+        return super.touch(session);
+      }
+    }.init(vertx, new JsonObject().put("mapName", "testTouchUnchangedSession"));
+
+    router.route().handler(SessionHandler.create(countingStore));
+    router.route().handler(rc -> {
+      String foo = rc.request().getParam("foo");
+      if (foo != null) {
+        rc.session().put("foo", foo);
+      }
+      rc.response().end();
+    });
+
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/?foo=bar").send(), 200, "OK");
+    String cookie = resp.headers().get("set-cookie");
+    assertEquals(1, puts.get());
+    // the data did not change
+    testRequest(webClient.get("/").putHeader("cookie", cookie).send(), 200, "OK");
+    assertEquals(1, puts.get());
+    assertEquals(1, touches.get());
+    testRequest(webClient.get("/?foo=baz").putHeader("cookie", cookie).send(), 200, "OK");
+    assertEquals(2, puts.get());
+    assertEquals(1, touches.get());
+
+    // the session was renewed less than the touch interval ago
+    router.clear();
+    router.route().handler(SessionHandler.create(countingStore).setSessionTouchInterval(60_000));
+    router.route().handler(rc -> rc.response().end());
+    testRequest(webClient.get("/").putHeader("cookie", cookie).send(), 200, "OK");
+    assertEquals(2, puts.get());
+    assertEquals(1, touches.get());
+
+    // the accesses of a steady traffic do not postpone the renewal
+    router.clear();
+    router.route().handler(SessionHandler.create(countingStore).setSessionTouchInterval(50));
+    router.route().handler(rc -> rc.response().end());
+    for (int i = 0; i < 100 && touches.get() == 1; i++) {
+      testRequest(webClient.get("/").putHeader("cookie", cookie).send(), 200, "OK");
+      Thread.sleep(10);
+    }
+    assertEquals(2, puts.get());
+    assertEquals(2, touches.get());
+    countingStore.close();
+  }
 }
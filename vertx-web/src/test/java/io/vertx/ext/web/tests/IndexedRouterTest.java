@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+
+package io.vertx.ext.web.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.Route;
+import io.vertx.ext.web.RouteMatching;
+import io.vertx.ext.web.Router;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs all the router tests with an indexed router.
+ */
+public class IndexedRouterTest extends RouterTest {
+
+  @BeforeEach
+  @Override
+  public void setUp(Vertx vertx) throws Exception {
+    super.setUp(vertx);
+    router.routeMatching(RouteMatching.INDEXED);
+  }
+
+  @Test
+  public void testIndexedRouteOrder() {
+    router.route("/api/:version/*").handler(rc -> rc.put("trail", "param").next());
+    router.routeWithRegex("/api/.*").handler(rc -> rc.put("trail", rc.get("trail") + ",regex").next());
+    router.route("/api/v1/*").handler(rc -> rc.put("trail", rc.get("trail") + ",prefix").next());
+    router.route().handler(rc -> rc.put("trail", rc.get("trail") + ",any").next());
+    router.route("/api/v1/users").handler(rc -> rc.response().setStatusMessage(rc.get("trail") + ",exact").end());
+
+    testRequest(HttpMethod.GET, "/api/v1/users", 200, "param,regex,prefix,any,exact");
+    testRequest(HttpMethod.GET, "/api/v1/users/", 200, "param,regex,prefix,any,exact");
+    testRequest(HttpMethod.GET, "/api/v2/users", 404, "Not Found");
+  }
+
+  @Test
+  public void testIndexedPartialSegment() {
+    router.route("/foo*").handler(rc -> rc.response().setStatusMessage("partial").end());
+
+    testRequest(HttpMethod.GET, "/foo", 200, "partial");
+    testRequest(HttpMethod.GET, "/foobar", 200, "partial");
+    testRequest(HttpMethod.GET, "/foo/bar", 200, "partial");
+    testRequest(HttpMethod.GET, "/fo", 404, "Not Found");
+  }
+
+  @Test
+  public void testIndexedRawPath() {
+    router.route("/a/b/").useNormalizedPath(false).handler(rc -> rc.response().setStatusMessage("raw").end());
+
+    testRequest(HttpMethod.GET, "/a/b/", 200, "raw");
+  }
+
+  @Test
+  public void testIndexedRouteChangedAfterAdd() {
+    Route route = router.route("/before").handler(rc -> rc.response().setStatusMessage("changed").end());
+    testRequest(HttpMethod.GET, "/before", 200, "changed");
+
+    route.path("/after");
+    testRequest(HttpMethod.GET, "/after", 200, "changed");
+    testRequest(HttpMethod.GET, "/before", 404, "Not Found");
+
+    route.pathRegex("/re.*");
+    testRequest(HttpMethod.GET, "/regex", 200, "changed");
+  }
+
+  @Test
+  public void testIndexedSubRouter() {
+    Router subRouter = Router.router(vertx).routeMatching(RouteMatching.INDEXED);
+    router.route("/api/:version/*").subRouter(subRouter);
+    router.route("/static/*").subRouter(subRouter);
+
+    subRouter.get("/").handler(rc -> rc.response().setStatusMessage("root").end());
+    subRouter.get("/users/:id").handler(rc -> rc.response().setStatusMessage("user " + rc.pathParam("id")).end());
+
+    testRequest(HttpMethod.GET, "/api/v1/users/42", 200, "user 42");
+    testRequest(HttpMethod.GET, "/static/users/7", 200, "user 7");
+    testRequest(HttpMethod.GET, "/static/", 200, "root");
+    testRequest(HttpMethod.GET, "/static/users", 404, "Not Found");
+  }
+}
@@ -229,6 +229,45 @@ public class RouterTest extends WebTestBase {
     testRequest(HttpMethod.GET, "/foo//123//", 200, "OK");
   }
 
+  @Test
+  public void testPathParamsSegments() throws Exception {
+    router.route("/users/:id/orders/:orderId").handler(rc -> rc.response().setStatusMessage(rc.pathParam("id") + "," + rc.pathParam("orderId")).end());
+    router.route("/files/:name.json").handler(rc -> rc.response().setStatusMessage("json " + rc.pathParam("name")).end());
+    router.route("/rest/:id/*").handler(rc -> rc.response().setStatusMessage(rc.pathParam("id") + " " + rc.pathParam("*")).end());
+    router.route("/strict/:id/").handler(rc -> rc.response().setStatusMessage("strict " + rc.pathParam("id")).end());
+
+    testRequest(HttpMethod.GET, "/users/1/orders/2", 200, "1,2");
+    testRequest(HttpMethod.GET, "/users/1/orders/2/", 200, "1,2");
+    testRequest(HttpMethod.GET, "/users/1/orders", 404, "Not Found");
+    testRequest(HttpMethod.GET, "/users/1/orders/2/3", 404, "Not Found");
+    // parameters mixed with literals are matched by the regular expression
+    testRequest(HttpMethod.GET, "/files/a.b.json", 200, "json a.b");
+    testRequest(HttpMethod.GET, "/rest/7/a/b", 200, "7 a/b");
+    testRequest(HttpMethod.GET, "/rest/7", 404, "Not Found");
+    testRequest(HttpMethod.GET, "/strict/3/", 200, "strict 3");
+    testRequest(HttpMethod.GET, "/strict/3", 404, "Not Found");
+  }
+
+  @Test
+  public void testPathParamsMap() throws Exception {
+    router.route("/files/*").handler(rc -> {
+      assertEquals("a/b", rc.pathParam("*"));
+      rc.next();
+    });
+    router.route("/files/:dir/:name").handler(rc -> {
+      Map<String, String> params = rc.pathParams();
+      // the rest of the previous route is removed
+      assertNull(params.get("*"));
+      assertEquals(2, params.size());
+      assertEquals("a", params.get("dir"));
+      params.entrySet().removeIf(e -> e.getKey().equals("dir"));
+      params.put("extra", "x");
+      assertEquals(Map.of("name", "b", "extra", "x"), params);
+      rc.response().setStatusMessage(rc.pathParam("name") + rc.pathParam("extra")).end();
+    });
+    testRequest(HttpMethod.GET, "/files/a/b", 200, "bx");
+  }
+
   @Test
   public void testRoutePathAndMethod() throws Exception {
     for (HttpMethod meth : METHODS) {
@@ -1203,6 +1242,24 @@ public class RouterTest extends WebTestBase {
     testRequest(HttpMethod.GET, "/foo", 200, "OK");
   }
 
+  @Test
+  public void testProducesRepeatedAccept() throws Exception {
+    router.route().produces("application/json").produces("text/html").handler(rc -> {
+      assertEquals(2, rc.parsedHeaders().accept().size());
+      assertEquals("en", rc.preferredLanguage().tag());
+      rc.response().setStatusMessage(rc.getAcceptableContentType()).end();
+    });
+    // the second and third requests use the values parsed for the first one
+    for (int i = 0; i < 3; i++) {
+      testRequest(webClient.get("/foo")
+        .putHeader("Accept", "application/json;q=0.5, text/html")
+        .putHeader("Accept-Language", "fr;q=0.1, en"), 200, "text/html");
+    }
+    testRequest(webClient.get("/foo")
+      .putHeader("Accept", "application/json, text/html;q=0.5")
+      .putHeader("Accept-Language", "en"), 200, "application/json");
+  }
+
   @Test
   public void testProducesWithParameterKey() throws Exception {
     router.route().produces("text/html;boo").handler(rc -> rc.response().end());
@@ -1463,6 +1520,78 @@ public class RouterTest extends WebTestBase {
   class SomeObject {
   }
 
+  @Test
+  public void testBatch() throws Exception {
+    AtomicInteger modified = new AtomicInteger();
+    router.modifiedHandler(r -> modified.incrementAndGet());
+    router.route("/a").handler(rc -> rc.response().setStatusMessage("a").end());
+    assertEquals(1, modified.get());
+
+    router.batch(r -> {
+      for (int i = 0; i < 100; i++) {
+        String path = "/batch/" + i;
+        r.get(path).handler(rc -> rc.response().setStatusMessage(path).end());
+      }
+      r.route("/batch/*").order(-1).handler(rc -> rc.response().setStatusMessage("first").end());
+      r.batch(nested -> nested.route("/b").handler(rc -> rc.response().setStatusMessage("b").end()));
+      // not visible until the batch completes
+      assertEquals(1, r.getRoutes().size());
+    });
+
+    assertEquals(2, modified.get());
+    assertEquals(103, router.getRoutes().size());
+    testRequest(HttpMethod.GET, "/a", 200, "a");
+    testRequest(HttpMethod.GET, "/b", 200, "b");
+    testRequest(HttpMethod.GET, "/batch/42", 200, "first");
+  }
+
+  @Test
+  public void testBatchRouteAddedByAnotherThread() throws Exception {
+    router.batch(r -> {
+      r.route("/a").handler(rc -> rc.response().setStatusMessage("a").end());
+      // the router is not locked by the batch
+      Thread thread = new Thread(() -> router.route("/b").handler(rc -> rc.response().setStatusMessage("b").end()));
+      thread.start();
+      try {
+        thread.join(5_000);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      assertFalse(thread.isAlive());
+      // published at once, it is not part of the batch
+      assertEquals(1, r.getRoutes().size());
+    });
+
+    assertEquals(2, router.getRoutes().size());
+    testRequest(HttpMethod.GET, "/a", 200, "a");
+    testRequest(HttpMethod.GET, "/b", 200, "b");
+  }
+
+  @Test
+  public void testRouteChangedAfterRequest() throws Exception {
+    Route route = router.route("/path").handler(RoutingContext::next);
+    testRequest(HttpMethod.GET, "/path", 404, "Not Found");
+    route.handler(rc -> rc.response().setStatusMessage("second").end());
+    testRequest(HttpMethod.GET, "/path", 200, "second");
+    route.method(HttpMethod.POST);
+    testRequest(HttpMethod.GET, "/path", 405, "Method Not Allowed");
+    testRequest(HttpMethod.POST, "/path", 200, "second");
+  }
+
+  @Test
+  public void testAddRouteOrder() throws Exception {
+    Route route1 = router.route("/order").handler(rc -> rc.response().setStatusMessage("1").end());
+    router.route("/order").order(-1).handler(RoutingContext::next);
+    router.route("/order").order(-1).handler(rc -> rc.response().setStatusMessage("-1").end());
+    testRequest(HttpMethod.GET, "/order", 200, "-1");
+    router.getRoutes().get(1).remove();
+    router.getRoutes().get(0).remove();
+    testRequest(HttpMethod.GET, "/order", 200, "1");
+    route1.remove();
+    router.route("/order").handler(rc -> rc.response().setStatusMessage("2").end());
+    testRequest(HttpMethod.GET, "/order", 200, "2");
+  }
+
   @Test
   public void testGetRoutes() throws Exception {
     router.route("/abc").handler(rc -> {
@@ -2799,6 +2928,34 @@ public class RouterTest extends WebTestBase {
     testRequest(HttpMethod.PUT, "/path", 405, "Dumb");
   }
 
+  @Test
+  public void testMethodNotAllowedAllowHeader() throws Exception {
+    router.get("/path").handler(rc -> rc.response().end());
+    router.route("/other").handler(rc -> rc.response().end());
+    router.post("/path").handler(rc -> rc.response().end());
+    router.delete("/elsewhere").handler(rc -> rc.response().end());
+
+    HttpResponse<Buffer> res = testRequest(webClient.put("/path").send(), 405, "Method Not Allowed");
+    String allowHeader = res.getHeader("Allow");
+    assertNotNull(allowHeader);
+    assertTrue(allowHeader.contains("GET"));
+    assertTrue(allowHeader.contains("POST"));
+    assertFalse(allowHeader.contains("DELETE"));
+    testRequest(HttpMethod.PUT, "/elsewhere", 405, "Method Not Allowed");
+    testRequest(HttpMethod.PUT, "/nowhere", 404, "Not Found");
+  }
+
+  @Test
+  public void testMethodNotAllowedBeforeMatchingRoute() throws Exception {
+    // a route restricted to another method before the last matching route does not turn the 404 into a 405
+    router.post("/path").handler(rc -> rc.response().end());
+    router.route("/path").handler(RoutingContext::next);
+    testRequest(HttpMethod.GET, "/path", 404, "Not Found");
+
+    router.put("/path").handler(rc -> rc.response().end());
+    testRequest(HttpMethod.GET, "/path", 405, "Method Not Allowed");
+  }
+
   @Test
   public void testNotAcceptableCustomErrorHandler() throws Exception {
     router.route().produces("text/html").handler(rc -> rc.response().end());
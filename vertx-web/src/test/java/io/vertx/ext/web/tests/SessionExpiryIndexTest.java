@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.sstore.impl.SessionExpiryIndex;
+import io.vertx.ext.web.sstore.impl.SharedDataSessionImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionExpiryIndexTest {
+
+  private static class TestSession extends SharedDataSessionImpl {
+
+    TestSession(String id, long timeout, long lastAccessed) {
+      setId(id);
+      setTimeout(timeout);
+      setLastAccessed(lastAccessed);
+    }
+
+    void access(long time) {
+      setLastAccessed(time);
+    }
+  }
+
+  private Vertx vertx;
+  private LocalMap<String, Session> map;
+  private SessionExpiryIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    vertx = Vertx.vertx();
+    map = vertx.sharedData().getLocalMap("sessions");
+    index = new SessionExpiryIndex(map, 100);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    vertx.close().await();
+  }
+
+  private TestSession put(String id, long timeout, long lastAccessed) {
+    TestSession session = new TestSession(id, timeout, lastAccessed);
+    map.put(id, session);
+    index.schedule(id, lastAccessed + timeout);
+    return session;
+  }
+
+  @Test
+  public void testReapExpired() {
+    put("expired", 200, 0);
+    put("later", 60_000, 0);
+    // the bucket of the expired session is not due yet
+    assertFalse(index.reap(250, 100));
+    assertEquals(2, map.size());
+    assertFalse(index.reap(300, 100));
+    assertNull(map.get("expired"));
+    assertNotNull(map.get("later"));
+  }
+
+  @Test
+  public void testReapAccessedSession() {
+    TestSession session = put("accessed", 200, 0);
+    // accessed without being stored again
+    session.access(250);
+    assertFalse(index.reap(300, 100));
+    assertSame(session, map.get("accessed"));
+    // moved to the bucket of its actual expiry time
+    assertFalse(index.reap(400, 100));
+    assertSame(session, map.get("accessed"));
+    assertFalse(index.reap(500, 100));
+    assertNull(map.get("accessed"));
+  }
+
+  @Test
+  public void testReapMax() {
+    for (int i = 0; i < 10; i++) {
+      put("session-" + i, 100, 0);
+    }
+    assertTrue(index.reap(1000, 4));
+    assertEquals(6, map.size());
+    assertTrue(index.reap(1000, 4));
+    assertEquals(2, map.size());
+    assertFalse(index.reap(1000, 4));
+    assertEquals(0, map.size());
+  }
+
+  @Test
+  public void testReapRemovedSession() {
+    put("deleted", 100, 0);
+    put("removed", 100, 0);
+    map.remove("deleted");
+    map.remove("removed");
+    index.remove("removed");
+    assertFalse(index.reap(1000, 100));
+    // a session stored again with the same id is indexed again
+    put("deleted", 100, 1000);
+    assertFalse(index.reap(1100, 100));
+    assertNotNull(map.get("deleted"));
+    assertFalse(index.reap(1200, 100));
+    assertNull(map.get("deleted"));
+  }
+}
@@ -899,6 +899,32 @@ public class SubRouterTest extends WebTestBase {
     assertEquals("templates/outside.html", engine.lastTemplateFileName);
   }
 
+  @Test
+  public void testThreeLevels() throws Exception {
+    Router level1 = Router.router(vertx);
+    Router level2 = Router.router(vertx);
+    Router level3 = Router.router(vertx);
+
+    router.route("/api/*").subRouter(level1);
+    level1.route("/v1/*").subRouter(level2);
+    level2.route("/users/*").subRouter(level3);
+
+    level3.get("/").handler(rc -> rc.response().setStatusMessage("list " + rc.mountPoint()).end());
+    level3.get("/:id/profile").handler(rc -> rc.response().setStatusMessage("profile " + rc.pathParam("id")).end());
+    level3.getWithRegex("/(\\d+)/(.*)").handler(rc -> rc.response().setStatusMessage(
+      "user " + rc.pathParam("param0") + " " + rc.pathParam("param1")).end());
+    level3.get("/file-:name/*").handler(rc -> rc.response().setStatusMessage(
+      "file " + rc.pathParam("name") + " " + rc.pathParam("*")).end());
+
+    testRequest(HttpMethod.GET, "/api/v1/users/", 200, "list /api/v1/users/");
+    testRequest(HttpMethod.GET, "/api/v1/users/42/profile", 200, "profile 42");
+    testRequest(HttpMethod.GET, "/api/v1/users/42/profile/", 200, "profile 42");
+    testRequest(HttpMethod.GET, "/api/v1/users/42/posts", 200, "user 42 posts");
+    testRequest(HttpMethod.GET, "/api/v1/users/file-a/b/c", 200, "file a b/c");
+    testRequest(HttpMethod.GET, "/api/v1/users/abc/posts", 404, "Not Found");
+    testRequest(HttpMethod.GET, "/api/v1/user/42/profile", 404, "Not Found");
+  }
+
   private static class RecordingTemplateFileNameEngine implements TemplateEngine {
 
     String lastTemplateFileName;
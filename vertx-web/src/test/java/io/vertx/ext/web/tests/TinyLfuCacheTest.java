@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Red Hat, Inc.
+ *
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  and Apache License v2.0 which accompanies this distribution.
+ *
+ *  The Eclipse Public License is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  The Apache License v2.0 is available at
+ *  http://www.opensource.org/licenses/apache2.0.php
+ *
+ *  You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.web.tests;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.impl.TinyLfuCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TinyLfuCacheTest {
+
+  private static String access(TinyLfuCache<String, String> cache, String key) {
+    String value = cache.get(key);
+    if (value == null) {
+      cache.put(key, key);
+    }
+    return value;
+  }
+
+  @Test
+  public void testPutGetRemove() {
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(10);
+    assertNull(cache.get("key"));
+    assertTrue(cache.put("key", "value"));
+    assertEquals("value", cache.get("key"));
+    assertTrue(cache.put("key", "other"));
+    assertEquals("other", cache.get("key"));
+    assertEquals("other", cache.remove("key"));
+    assertNull(cache.get("key"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testMaxSize() {
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(100);
+    for (int r = 0; r < 3; r++) {
+      for (int i = 0; i < 1000; i++) {
+        access(cache, "key" + i);
+      }
+    }
+    assertTrue(cache.size() <= 100);
+    cache.setMaxSize(10);
+    assertTrue(cache.size() <= 10);
+  }
+
+  @Test
+  public void testScanResistance() {
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(100);
+    for (int r = 0; r < 5; r++) {
+      for (int i = 0; i < 50; i++) {
+        access(cache, "hot" + i);
+      }
+    }
+    // a scan of keys accessed once while the hot keys are still accessed
+    for (int i = 0; i < 10000; i++) {
+      access(cache, "scan" + i);
+      access(cache, "hot" + (i % 50));
+    }
+    for (int i = 0; i < 50; i++) {
+      assertNotNull(cache.peek("hot" + i));
+    }
+    JsonObject stats = cache.statistics();
+    assertTrue(stats.getLong("rejections") > 0);
+    assertEquals(100, stats.getInteger("maxSize"));
+  }
+
+  @Test
+  public void testInvalidSize() {
+    assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<>(0));
+    assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache<>(10).setMaxSize(-1));
+  }
+}
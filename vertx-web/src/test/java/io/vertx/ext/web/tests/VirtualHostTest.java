@@ -102,4 +102,23 @@ public class VirtualHostTest extends WebTestBase {
     testRequest(webClient.get(8080, "localhost", "/somepath").putHeader("Host", "www.mysite.com").send(), 200, "OK");
   }
 
+  @Test
+  public void testVHostIndexed() {
+    for (int i = 0; i < 100; i++) {
+      String host = "tenant" + i + ".example.com";
+      router.get("/").virtualHost(host).handler(ctx -> ctx.response().setStatusMessage(host).end());
+    }
+    router.get("/").virtualHost("*.example.org").handler(ctx -> ctx.response().setStatusMessage("wildcard").end());
+    router.get("/").virtualHost("*example.net").handler(ctx -> ctx.response().setStatusMessage("suffix").end());
+    router.get("/").virtualHost("[a-z]+.example.io").handler(ctx -> ctx.response().setStatusMessage("regex").end());
+    router.get("/").handler(ctx -> ctx.response().setStatusMessage("default").end());
+
+    testRequest(webClient.get(8080, "localhost", "/").putHeader("Host", "tenant42.example.com").send(), 200, "tenant42.example.com");
+    testRequest(webClient.get(8080, "localhost", "/").putHeader("Host", "Tenant7.Example.COM:8080").send(), 200, "tenant7.example.com");
+    testRequest(webClient.get(8080, "localhost", "/").putHeader("Host", "a.b.example.org").send(), 200, "wildcard");
+    testRequest(webClient.get(8080, "localhost", "/").putHeader("Host", "example.org").send(), 200, "default");
+    testRequest(webClient.get(8080, "localhost", "/").putHeader("Host", "myexample.net").send(), 200, "suffix");
+    testRequest(webClient.get(8080, "localhost", "/").putHeader("Host", "www.example.io").send(), 200, "regex");
+    testRequest(webClient.get(8080, "localhost", "/").putHeader("Host", "tenant100.example.com").send(), 200, "default");
+  }
 }
@@ -20,17 +20,22 @@ import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpClosedException;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.http.RequestOptions;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.FileUpload;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.handler.BodyDecoder;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.PlatformHandler;
 import io.vertx.ext.web.tests.WebTestBase;
@@ -41,6 +46,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -51,6 +57,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -178,6 +185,81 @@ public class BodyHandlerTest extends WebTestBase {
     testRequest(webClient.post("/").sendJsonObject(json), 200, "OK");
   }
 
+  @Test
+  public void testCompositeBodyBuffer() {
+    router.clear();
+    router.route().handler(BodyHandler.create().setCompositeBodyBuffer(true));
+    Buffer buff = TestUtils.randomBuffer(256 * 1024);
+    router.route().handler(rc -> {
+      assertEquals(buff, rc.body().buffer());
+      assertEquals(buff.length(), rc.body().length());
+      List<Buffer> chunks = rc.body().chunks();
+      assertTrue(chunks.size() > 1);
+      Buffer received = Buffer.buffer();
+      chunks.forEach(received::appendBuffer);
+      assertEquals(buff, received);
+      rc.response().end();
+    });
+    testRequest(webClient.post("/").sendBuffer(buff), 200, "OK");
+  }
+
+  @Test
+  public void testParseJsonBody() {
+    router.clear();
+    router.route().handler(BodyHandler.create().setParseJsonBody(true));
+    JsonObject json = new JsonObject().put("foo", "bar").put("blah", 123);
+    router.route().handler(rc -> {
+      assertEquals(json, rc.body().asJsonObject());
+      assertEquals(json.encode(), rc.body().asString());
+      assertEquals(json.encode().length(), rc.body().length());
+      rc.response().end();
+    });
+    testRequest(webClient.post("/").sendJsonObject(json), 200, "OK");
+  }
+
+  @Test
+  public void testParseJsonBodyDiscardRawBody() {
+    router.clear();
+    router.route().handler(BodyHandler.create().setParseJsonBody(true).setKeepJsonRawBody(false));
+    JsonArray json = new JsonArray().add("foo").add(new JsonObject().put("blah", 123));
+    router.route().handler(rc -> {
+      assertEquals(json, rc.body().asJsonArray());
+      assertNull(rc.body().buffer());
+      assertEquals(json.encode().length(), rc.body().length());
+      rc.response().end();
+    });
+    testRequest(webClient.post("/").sendJson(json), 200, "OK");
+  }
+
+  @Test
+  public void testParseInvalidJsonBody() {
+    router.clear();
+    router.route().handler(BodyHandler.create().setParseJsonBody(true));
+    router.route().handler(rc -> fail("Should not be called"));
+    testRequest(webClient.post("/").putHeader("content-type", "application/json").sendBuffer(Buffer.buffer("{\"foo\":")), 400, "Bad Request");
+    testRequest(webClient.post("/").putHeader("content-type", "application/json").sendBuffer(Buffer.buffer("{}{}")), 400, "Bad Request");
+  }
+
+  @Test
+  public void testJsonBodyOfAnotherType() {
+    router.clear();
+    router.route("/parsed").handler(BodyHandler.create().setParseJsonBody(true));
+    router.route().handler(BodyHandler.create());
+    router.route().handler(rc -> {
+      if (rc.request().path().equals("/parsed")) {
+        assertThrows(DecodeException.class, () -> rc.body().asJsonObject());
+      } else {
+        // the body decoded on demand keeps the behavior of the cast
+        assertThrows(ClassCastException.class, () -> rc.body().asJsonObject());
+      }
+      assertEquals(new JsonArray().add(1).add(2), rc.body().asJsonArray());
+      rc.response().end();
+    });
+    JsonArray json = new JsonArray().add(1).add(2);
+    testRequest(webClient.post("/").sendJson(json), 200, "OK");
+    testRequest(webClient.post("/parsed").sendJson(json), 200, "OK");
+  }
+
   @Test
   public void testBodyTooBig() {
     router.clear();
@@ -196,6 +278,199 @@ public class BodyHandlerTest extends WebTestBase {
     testRequest(webClient.post("/").sendBuffer(buff), 413, "Request Entity Too Large");
   }
 
+  @Test
+  public void testStreamBody() {
+    router.clear();
+    router.route().handler(BodyHandler.create().setStreamBody(true));
+    String body = "0123456789".repeat(10_000);
+    router.route().handler(rc -> {
+      assertNull(rc.body().buffer());
+      rc.response().setChunked(true);
+      rc.body().stream().pipeTo(rc.response());
+    });
+    testRequest(webClient.post("/").sendBuffer(Buffer.buffer(body)), 200, "OK", body);
+  }
+
+  @Test
+  public void testStreamBodyTooBig() {
+    router.clear();
+    router.route().handler(BodyHandler.create().setStreamBody(true).setBodyLimit(500));
+    router.route().handler(rc -> {
+      rc.body().stream()
+        .handler(buff -> {})
+        .endHandler(v -> fail("Should not end"))
+        .resume();
+    });
+
+    Integer sc = client.request(HttpMethod.POST, 8080, "localhost", "/")
+      .compose(request -> {
+        request.setChunked(true);
+        request.write(TestUtils.randomBuffer(1000));
+        vertx.setTimer(10, id -> {
+          request.end();
+        });
+        return request.response().map(response -> response.statusCode());
+      }).await();
+
+    assertEquals(413, sc);
+  }
+
+  @Test
+  public void testRouteBodyLimit() {
+    router.clear();
+    BodyHandler bodyHandler = BodyHandler.create().setBodyLimit(5000);
+    router.post("/small").putMetadata(BodyHandler.BODY_LIMIT_METADATA, 500).handler(bodyHandler);
+    router.post("/stream")
+      .putMetadata(BodyHandler.BODY_LIMIT_METADATA, -1)
+      .putMetadata(BodyHandler.STREAM_BODY_METADATA, true)
+      .handler(bodyHandler);
+    router.post().handler(bodyHandler);
+    router.route().handler(rc -> {
+      ReadStream<Buffer> stream = rc.body().stream();
+      if (stream == null) {
+        rc.response().end(String.valueOf(rc.body().length()));
+      } else {
+        Buffer received = Buffer.buffer();
+        stream
+          .handler(received::appendBuffer)
+          .endHandler(v -> rc.response().end("stream " + received.length()))
+          .resume();
+      }
+    });
+    testRequest(webClient.post("/small").sendBuffer(TestUtils.randomBuffer(1000)), 413, "Request Entity Too Large");
+    testRequest(webClient.post("/").sendBuffer(TestUtils.randomBuffer(1000)), 200, "OK", "1000");
+    testRequest(webClient.post("/stream").sendBuffer(TestUtils.randomBuffer(10000)), 200, "OK", "stream 10000");
+  }
+
+  @Test
+  public void testRouteBodyLimitGlobalBodyHandler() {
+    router.clear();
+    router.route().handler(BodyHandler.create().setBodyLimit(500));
+    // the metadata of a route that does not carry the body handler is ignored
+    router.post("/upload")
+      .putMetadata(BodyHandler.BODY_LIMIT_METADATA, -1)
+      .handler(rc -> rc.response().end(String.valueOf(rc.body().length())));
+    testRequest(webClient.post("/upload").sendBuffer(TestUtils.randomBuffer(1000)), 413, "Request Entity Too Large");
+  }
+
+  @Test
+  public void testRouteBodyLimitBeforeGlobalBodyHandler() {
+    router.clear();
+    BodyHandler bodyHandler = BodyHandler.create().setBodyLimit(500);
+    router.post("/upload").putMetadata(BodyHandler.BODY_LIMIT_METADATA, -1).handler(bodyHandler);
+    router.route().handler(bodyHandler);
+    router.route().handler(rc -> rc.response().end(String.valueOf(rc.body().length())));
+    testRequest(webClient.post("/upload").sendBuffer(TestUtils.randomBuffer(1000)), 200, "OK", "1000");
+    testRequest(webClient.post("/").sendBuffer(TestUtils.randomBuffer(1000)), 413, "Request Entity Too Large");
+  }
+
+  @Test
+  public void testDecompressBody() throws Exception {
+    router.clear();
+    router.route().handler(BodyHandler.create().setDecompressBody(true).setParseJsonBody(true));
+    JsonObject json = new JsonObject().put("foo", "bar".repeat(1000));
+    router.route().handler(rc -> {
+      assertEquals(json, rc.body().asJsonObject());
+      assertNull(rc.request().getHeader(HttpHeaders.CONTENT_ENCODING));
+      assertNull(rc.request().getHeader(HttpHeaders.CONTENT_LENGTH));
+      rc.response().end();
+    });
+    testRequest(webClient.post("/")
+      .putHeader("content-type", "application/json")
+      .putHeader("content-encoding", "gzip")
+      .sendBuffer(gzip(json.toBuffer())), 200, "OK");
+  }
+
+  @Test
+  public void testDecompressBodyTooBig() throws Exception {
+    router.clear();
+    router.route().handler(BodyHandler.create().setDecompressBody(true).setBodyLimit(100_000));
+    router.route().handler(rc -> fail("Should not be called"));
+    // a few kilobytes that decompress to ten megabytes
+    Buffer compressed = gzip(Buffer.buffer(new byte[10 * 1024 * 1024]));
+    assertTrue(compressed.length() < 100_000);
+    testRequest(webClient.post("/").putHeader("content-encoding", "gzip").sendBuffer(compressed), 413, "Request Entity Too Large");
+  }
+
+  @Test
+  public void testDecompressBodyStreamed() throws Exception {
+    router.clear();
+    BodyHandler bodyHandler = BodyHandler.create().setDecompressBody(true);
+    router.post("/stream")
+      .putMetadata(BodyHandler.BODY_LIMIT_METADATA, -1)
+      .putMetadata(BodyHandler.STREAM_BODY_METADATA, true)
+      .handler(bodyHandler);
+    router.post("/stream").handler(rc -> {
+      // the body is streamed as it was sent
+      assertEquals("gzip", rc.request().getHeader(HttpHeaders.CONTENT_ENCODING));
+      Buffer received = Buffer.buffer();
+      rc.body().stream()
+        .handler(received::appendBuffer)
+        .endHandler(v -> rc.response().end(String.valueOf(received.length())))
+        .resume();
+    });
+    Buffer compressed = gzip(Buffer.buffer(new byte[10 * 1024 * 1024]));
+    testRequest(webClient.post("/stream").putHeader("content-encoding", "gzip").sendBuffer(compressed), 200, "OK", String.valueOf(compressed.length()));
+  }
+
+  @Test
+  public void testDecompressBodyRouteWithoutLimit() throws Exception {
+    router.clear();
+    BodyHandler bodyHandler = BodyHandler.create().setDecompressBody(true).setBodyLimit(100_000);
+    router.post().putMetadata(BodyHandler.BODY_LIMIT_METADATA, -1).handler(bodyHandler);
+    router.post().handler(rc -> rc.response().end(String.valueOf(rc.body().length())));
+    // the limit of the handler applies to the decompressed body
+    testRequest(webClient.post("/").putHeader("content-encoding", "gzip").sendBuffer(gzip(Buffer.buffer(new byte[10 * 1024 * 1024]))), 413, "Request Entity Too Large");
+    // the limit of the route applies to the compressed body
+    testRequest(webClient.post("/").sendBuffer(Buffer.buffer(new byte[200_000])), 200, "OK", "200000");
+  }
+
+  @Test
+  public void testDecompressBodyUnsupportedEncoding() {
+    router.clear();
+    router.route().handler(BodyHandler.create().setDecompressBody(true));
+    router.route().handler(rc -> fail("Should not be called"));
+    testRequest(webClient.post("/").putHeader("content-encoding", "br").sendBuffer(TestUtils.randomBuffer(100)), 415, "Unsupported Media Type");
+  }
+
+  @Test
+  public void testDecompressBodyReleaseDecoder() throws Exception {
+    AtomicInteger released = new AtomicInteger();
+    router.clear();
+    router.route().handler(BodyHandler.create().setDecompressBody(true).setBodyLimit(100_000)
+      .addBodyDecoder("gzip", () -> new BodyDecoder() {
+        final BodyDecoder decoder = BodyDecoder.gzip();
+        @Override
+        public Buffer decode(Buffer chunk, long maxLength) {
+          return decoder.decode(chunk, maxLength);
+        }
+        @Override
+        public void end() {
+          decoder.end();
+        }
+        @Override
+        public void release() {
+          released.incrementAndGet();
+          decoder.release();
+        }
+      }));
+    router.route().handler(rc -> rc.response().end());
+    testRequest(webClient.post("/").putHeader("content-encoding", "gzip").sendBuffer(gzip(Buffer.buffer("foo"))), 200, "OK");
+    assertEquals(1, released.get());
+    testRequest(webClient.post("/").putHeader("content-encoding", "gzip").sendBuffer(gzip(Buffer.buffer(new byte[1024 * 1024]))), 413, "Request Entity Too Large");
+    assertEquals(2, released.get());
+    testRequest(webClient.post("/").putHeader("content-encoding", "gzip").sendBuffer(TestUtils.randomBuffer(100)), 400, "Bad Request");
+    assertEquals(3, released.get());
+  }
+
+  private static Buffer gzip(Buffer buffer) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(buffer.getBytes());
+    }
+    return Buffer.buffer(out.toByteArray());
+  }
+
   @Test
   public void testFileUploadSmallUpload() {
     testFileUpload(BodyHandler.DEFAULT_UPLOADS_DIRECTORY, 50);
@@ -256,6 +531,43 @@ public class BodyHandlerTest extends WebTestBase {
     sendFileUploadRequest(fileData, 200, "OK");
   }
 
+  @Test
+  public void testInMemoryFileUpload() {
+    String dirName = getNotCreatedTemporaryFolderName();
+    router.clear();
+    router.route().handler(BodyHandler.create(dirName).setInMemoryUploadThreshold(10000));
+    Buffer fileData = TestUtils.randomBuffer(5000);
+    router.route().handler(rc -> {
+      assertEquals(1, rc.fileUploads().size());
+      FileUpload upload = rc.fileUploads().get(0);
+      assertEquals("somefile.dat", upload.fileName());
+      assertEquals(fileData.length(), upload.size());
+      assertNull(upload.uploadedFileName());
+      assertEquals(fileData, upload.content());
+      assertFalse(vertx.fileSystem().existsBlocking(dirName), "Upload directory must not be created.");
+      rc.response().end();
+    });
+    sendFileUploadRequest(fileData, 200, "OK");
+  }
+
+  @Test
+  public void testUploadSink() {
+    String sinkFile = new File(tempUploads, "sink.dat").getPath();
+    router.clear();
+    router.route().handler(BodyHandler.create()
+      .setUploadSink(upload -> vertx.fileSystem().open(sinkFile, new OpenOptions()).map(file -> file)));
+    Buffer fileData = TestUtils.randomBuffer(5000);
+    router.route().handler(rc -> {
+      assertEquals(1, rc.fileUploads().size());
+      FileUpload upload = rc.fileUploads().get(0);
+      assertNull(upload.uploadedFileName());
+      assertNull(upload.content());
+      assertEquals(fileData, vertx.fileSystem().readFileBlocking(sinkFile));
+      rc.response().end();
+    });
+    sendFileUploadRequest(fileData, 200, "OK");
+  }
+
   @Test
   public void testFileUploadTooBig() {
     router.clear();
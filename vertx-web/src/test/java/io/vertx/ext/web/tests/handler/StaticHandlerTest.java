@@ -23,6 +23,7 @@ import io.vertx.core.http.*;
 
 import io.vertx.core.internal.VertxInternal;
 import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.PemKeyCertOptions;
 import io.vertx.core.net.PemTrustOptions;
 import io.vertx.core.spi.file.FileResolver;
@@ -48,9 +49,11 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -283,6 +286,55 @@ public class StaticHandlerTest extends WebTestBase {
     assertTrue(linkHeaders.contains("<coin.png>; rel=preload; as=image"));
   }
 
+  @Test
+  public void testEarlyHints() throws Exception {
+    List<Http2PushMapping> mappings = new ArrayList<>();
+    mappings.add(new Http2PushMapping("style.css", "style", false));
+    mappings.add(new Http2PushMapping("coin.png", "image", false));
+
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.RELATIVE, "webroot/somedir3")
+      .setHttp2PushMapping(mappings)
+      .setSendEarlyHints(true);
+    router.route().handler(stat);
+
+    List<MultiMap> hints = Collections.synchronizedList(new ArrayList<>());
+    HttpClientResponse resp = client.request(HttpMethod.GET, 8080, "localhost", "/testLinkPreload.html")
+      .compose(req -> req.earlyHintsHandler(hints::add).send())
+      .await();
+    assertEquals(200, resp.statusCode());
+    resp.body().await();
+    assertEquals(1, hints.size());
+    assertEquals(Arrays.asList("<style.css>; rel=preload; as=style", "<coin.png>; rel=preload; as=image"), hints.get(0).getAll("Link"));
+    assertTrue(resp.headers().getAll("Link").contains("<style.css>; rel=preload; as=style"));
+
+    // no hints for the linked files
+    hints.clear();
+    resp = client.request(HttpMethod.GET, 8080, "localhost", "/style.css")
+      .compose(req -> req.earlyHintsHandler(hints::add).send())
+      .await();
+    assertEquals(200, resp.statusCode());
+    resp.body().await();
+    assertTrue(hints.isEmpty());
+
+    // the hints are sent before the page is resolved
+    resp = client.request(HttpMethod.GET, 8080, "localhost", "/missing.html")
+      .compose(req -> req.earlyHintsHandler(hints::add).send())
+      .await();
+    assertEquals(404, resp.statusCode());
+    resp.body().await();
+    assertEquals(1, hints.size());
+
+    hints.clear();
+    // no hints for a HEAD request
+    resp = client.request(HttpMethod.HEAD, 8080, "localhost", "/testLinkPreload.html")
+      .compose(req -> req.earlyHintsHandler(hints::add).send())
+      .await();
+    assertEquals(200, resp.statusCode());
+    resp.body().await();
+    assertTrue(hints.isEmpty());
+  }
+
   @Test
   public void testNoHttp2Push() throws Exception {
     router.clear();
@@ -350,7 +402,12 @@ public class StaticHandlerTest extends WebTestBase {
         req.pushHandler(push -> {
             assertNotNull(push);
             push.response()
-              .compose(HttpClientResponse::body)
+              .compose(resp -> {
+                // the headers of the pushed file
+                assertEquals(push.path().endsWith(".css") ? "text/css;charset=" + Charset.defaultCharset().name() : "image/png", resp.getHeader("content-type"));
+                assertNotNull(resp.getHeader("last-modified"));
+                return resp.body();
+              })
               .onComplete(TestUtils.onSuccess(body -> {
                 assertTrue(body.length() > 0);
                 pushReceived.countDown();
@@ -558,6 +615,409 @@ public class StaticHandlerTest extends WebTestBase {
     testRequest(HttpMethod.GET, "/fspage.html", 200, "OK", "<html><body>File system page</body></html>");
   }
 
+  @Test
+  public void testContentCache() throws Exception {
+    stat.setMaxContentCacheSize(1024 * 1024);
+    testRequest(HttpMethod.GET, "/otherpage.html", 200, "OK", "<html><body>Other page</body></html>");
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/otherpage.html").send(), 200, "OK", "<html><body>Other page</body></html>");
+    assertEquals("text/html;charset=" + Charset.defaultCharset().name(), resp.getHeader("content-type"));
+    assertNotNull(resp.getHeader("last-modified"));
+    // the index page is cached too
+    testRequest(HttpMethod.GET, "/", 200, "OK", "<html><body>Index page</body></html>");
+    testRequest(HttpMethod.GET, "/", 200, "OK", "<html><body>Index page</body></html>");
+    // ranges are served from the cache
+    testRequest(webClient.get("/otherpage.html").putHeader("Range", "bytes=6-11").send(), 206, "Partial Content", "<body>");
+
+    JsonObject stats = stat.getContentCacheStatistics();
+    assertEquals(2, stats.getLong("misses"));
+    assertEquals(3, stats.getLong("hits"));
+    assertEquals(2, stats.getInteger("files"));
+  }
+
+  @Test
+  public void testContentCacheFileChanged() throws Exception {
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.ROOT, webRootTarget.toString())
+      .setMaxContentCacheSize(1024 * 1024)
+      .setFilesReadOnly(false)
+      .setCacheEntryTimeout(1);
+    router.route().handler(stat);
+
+    Path file = webRootTarget.resolve("changed.html");
+    Files.writeString(file, "before");
+    testRequest(HttpMethod.GET, "/changed.html", 200, "OK", "before");
+    Files.writeString(file, "after the change");
+    Thread.sleep(2);
+    testRequest(HttpMethod.GET, "/changed.html", 200, "OK", "after the change");
+    assertEquals(2, stat.getContentCacheStatistics().getLong("misses"));
+  }
+
+  @Test
+  public void testContentCacheEviction() throws Exception {
+    Files.writeString(webRootTarget.resolve("one.html"), "0123456789");
+    Files.writeString(webRootTarget.resolve("two.html"), "9876543210");
+    Files.writeString(webRootTarget.resolve("big.html"), "01234567890123456789");
+    stat.setMaxContentCacheSize(15).setMaxCachedFileSize(10);
+    testRequest(HttpMethod.GET, "/one.html", 200, "OK", "0123456789");
+    testRequest(HttpMethod.GET, "/two.html", 200, "OK", "9876543210");
+    testRequest(HttpMethod.GET, "/big.html", 200, "OK", "01234567890123456789");
+    testRequest(HttpMethod.GET, "/two.html", 200, "OK", "9876543210");
+
+    JsonObject stats = stat.getContentCacheStatistics();
+    assertEquals(1, stats.getLong("evictions"));
+    assertEquals(1, stats.getLong("hits"));
+    assertEquals(1, stats.getInteger("files"));
+    assertEquals(10, stats.getLong("size"));
+  }
+
+  @Test
+  public void testContentCacheEvictionKeepsUsedFiles() throws Exception {
+    Files.writeString(webRootTarget.resolve("one.html"), "0123456789");
+    Files.writeString(webRootTarget.resolve("two.html"), "9876543210");
+    Files.writeString(webRootTarget.resolve("three.html"), "5555555555");
+    stat.setMaxContentCacheSize(25);
+    testRequest(HttpMethod.GET, "/one.html", 200, "OK", "0123456789");
+    testRequest(HttpMethod.GET, "/two.html", 200, "OK", "9876543210");
+    // one is used again, two is evicted instead
+    testRequest(HttpMethod.GET, "/one.html", 200, "OK", "0123456789");
+    testRequest(HttpMethod.GET, "/three.html", 200, "OK", "5555555555");
+    testRequest(HttpMethod.GET, "/one.html", 200, "OK", "0123456789");
+
+    JsonObject stats = stat.getContentCacheStatistics();
+    assertEquals(1, stats.getLong("evictions"));
+    assertEquals(2, stats.getLong("hits"));
+    assertEquals(20, stats.getLong("size"));
+  }
+
+  @Test
+  public void testMultipleRanges() throws Exception {
+    Files.writeString(webRootTarget.resolve("ranges.txt"), "0123456789");
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=0-1, 5-").send(), 206, "Partial Content");
+    String contentType = resp.getHeader("Content-Type");
+    assertTrue(contentType.startsWith("multipart/byteranges; boundary="));
+    String boundary = contentType.substring(contentType.indexOf('=') + 1);
+    String expected =
+      "--" + boundary + "\r\n" +
+      "Content-Type: text/plain;charset=" + Charset.defaultCharset().name() + "\r\n" +
+      "Content-Range: bytes 0-1/10\r\n" +
+      "\r\n" +
+      "01" +
+      "\r\n--" + boundary + "\r\n" +
+      "Content-Type: text/plain;charset=" + Charset.defaultCharset().name() + "\r\n" +
+      "Content-Range: bytes 5-9/10\r\n" +
+      "\r\n" +
+      "56789" +
+      "\r\n--" + boundary + "--\r\n";
+    assertEquals(expected, resp.bodyAsString());
+    assertEquals(Integer.toString(expected.length()), resp.getHeader("Content-Length"));
+  }
+
+  @Test
+  public void testSuffixRanges() throws Exception {
+    Files.writeString(webRootTarget.resolve("ranges.txt"), "0123456789");
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=-3").send(), 206, "Partial Content", "789");
+    assertEquals("bytes 7-9/10", resp.getHeader("Content-Range"));
+    // longer than the file
+    resp = testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=-20").send(), 206, "Partial Content", "0123456789");
+    assertEquals("bytes 0-9/10", resp.getHeader("Content-Range"));
+    testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=-0").send(), 416, "Requested Range Not Satisfiable");
+    resp = testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=0-1,-3").send(), 206, "Partial Content");
+    String contentType = resp.getHeader("Content-Type");
+    assertTrue(contentType.startsWith("multipart/byteranges; boundary="));
+    String body = resp.bodyAsString();
+    assertTrue(body.contains("Content-Range: bytes 0-1/10\r\n\r\n01\r\n"));
+    assertTrue(body.contains("Content-Range: bytes 7-9/10\r\n\r\n789\r\n"));
+  }
+
+  @Test
+  public void testMultipleRangesLargeFile() throws Exception {
+    byte[] data = TestUtils.randomAlphaString(300_000).getBytes(StandardCharsets.US_ASCII);
+    Files.write(webRootTarget.resolve("ranges.txt"), data);
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=0-99999,-100000").send(), 206, "Partial Content");
+    String body = resp.bodyAsString();
+    String content = new String(data, StandardCharsets.US_ASCII);
+    assertTrue(body.contains("Content-Range: bytes 0-99999/300000\r\n\r\n" + content.substring(0, 100_000) + "\r\n"));
+    assertTrue(body.contains("Content-Range: bytes 200000-299999/300000\r\n\r\n" + content.substring(200_000) + "\r\n"));
+  }
+
+  @Test
+  public void testMultipleRangesCoalesced() throws Exception {
+    Files.writeString(webRootTarget.resolve("ranges.txt"), "0123456789");
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=2-4,0-3,20-30").send(), 206, "Partial Content", "01234");
+    assertEquals("bytes 0-4/10", resp.getHeader("Content-Range"));
+    testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=20-30,40-").send(), 416, "Requested Range Not Satisfiable");
+  }
+
+  @Test
+  public void testMultipleRangesLimit() throws Exception {
+    Files.writeString(webRootTarget.resolve("ranges.txt"), "0123456789");
+    stat.setMaxRanges(2);
+    // the range header is ignored
+    testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=0-0,2-2,4-4").send(), 200, "OK", "0123456789");
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/ranges.txt").putHeader("Range", "bytes=0-0,4-4").send(), 206, "Partial Content");
+    assertTrue(resp.getHeader("Content-Type").startsWith("multipart/byteranges"));
+  }
+
+  @Test
+  public void testWeakETag() throws Exception {
+    stat.setSendETag(true);
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/otherpage.html").send(), 200, "OK", "<html><body>Other page</body></html>");
+    String etag = resp.getHeader("etag");
+    assertNotNull(etag);
+    assertTrue(etag.startsWith("W/\""));
+    resp = testRequest(webClient.get("/otherpage.html").putHeader("if-none-match", etag).send(), 304, "Not Modified");
+    assertEquals(etag, resp.getHeader("etag"));
+    testRequest(webClient.get("/otherpage.html").putHeader("if-none-match", "W/\"other\"").send(), 200, "OK", "<html><body>Other page</body></html>");
+  }
+
+  @Test
+  public void testStrongETag() throws Exception {
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.ROOT, webRootTarget.toString())
+      .setSendETag(true)
+      .setStrongETag(true)
+      .setFilesReadOnly(false)
+      .setCacheEntryTimeout(1);
+    router.route().handler(stat);
+
+    Path file = webRootTarget.resolve("tagged.html");
+    Files.writeString(file, "before");
+    // the first response does not wait for the hash of the content
+    assertNull(testRequest(webClient.get("/tagged.html").send(), 200, "OK", "before").getHeader("etag"));
+    String etag = awaitETag("/tagged.html");
+    assertFalse(etag.startsWith("W/"));
+    testRequest(webClient.get("/tagged.html").putHeader("if-none-match", etag).send(), 304, "Not Modified");
+    Files.writeString(file, "after the change");
+    Thread.sleep(2);
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/tagged.html").putHeader("if-none-match", etag).send(), 200, "OK", "after the change");
+    assertNotEquals(etag, resp.getHeader("etag"));
+  }
+
+  /**
+   * @return the strong entity tag of a file, once its content is hashed
+   */
+  private String awaitETag(String uri) throws Exception {
+    long deadline = System.currentTimeMillis() + 5_000;
+    String etag;
+    while ((etag = testRequest(webClient.get(uri).send(), 200, "OK").getHeader("etag")) == null) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+    return etag;
+  }
+
+  @Test
+  public void testWeakETagCachingDisabled() throws Exception {
+    stat.setSendETag(true).setCachingEnabled(false);
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/otherpage.html").send(), 200, "OK", "<html><body>Other page</body></html>");
+    String etag = resp.getHeader("etag");
+    assertNotNull(etag);
+    assertNull(resp.getHeader("last-modified"));
+    resp = testRequest(webClient.get("/otherpage.html").putHeader("if-none-match", etag).send(), 304, "Not Modified");
+    assertEquals(etag, resp.getHeader("etag"));
+  }
+
+  @Test
+  public void testStrongETagCachingDisabled() throws Exception {
+    stat.setSendETag(true).setStrongETag(true).setCachingEnabled(false);
+    // the hash of the content is not kept without cache, the files are sent without entity tag
+    assertNull(testRequest(webClient.get("/otherpage.html").send(), 200, "OK").getHeader("etag"));
+  }
+
+  @Test
+  public void testStrongETagFileNotCached() throws Exception {
+    stat.setSendETag(true).setStrongETag(true).setMaxCacheSize(1);
+    for (int i = 0; i < 5; i++) {
+      testRequest(webClient.get("/index.html").send(), 200, "OK");
+    }
+    assertNotNull(awaitETag("/index.html"));
+    // the cache keeps the most requested file only, the other files are not hashed
+    assertNull(testRequest(webClient.get("/otherpage.html").send(), 200, "OK").getHeader("etag"));
+    assertEquals(1, stat.getCacheStatistics().getLong("rejections"));
+  }
+
+  @Test
+  public void testETagPrecompressedVariant() throws Exception {
+    Files.writeString(webRootTarget.resolve("tagged.js"), "identity");
+    Files.writeString(webRootTarget.resolve("tagged.js.gz"), "gzip");
+    stat.setSendETag(true).setServePrecompressed(true);
+    String identity = testRequest(webClient.get("/tagged.js").send(), 200, "OK", "identity").getHeader("etag");
+    String gzip = testRequest(webClient.get("/tagged.js").putHeader("Accept-Encoding", "gzip").send(), 200, "OK", "gzip").getHeader("etag");
+    assertNotEquals(identity, gzip);
+    testRequest(webClient.get("/tagged.js").putHeader("Accept-Encoding", "gzip").putHeader("if-none-match", gzip).send(), 304, "Not Modified");
+    testRequest(webClient.get("/tagged.js").putHeader("if-none-match", gzip).send(), 200, "OK", "identity");
+  }
+
+  @Test
+  public void testServePrecompressed() throws Exception {
+    Files.writeString(webRootTarget.resolve("app.js"), "identity");
+    Files.writeString(webRootTarget.resolve("app.js.gz"), "gzip");
+    Files.writeString(webRootTarget.resolve("app.js.br"), "brotli");
+    stat.setServePrecompressed(true);
+
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/app.js").putHeader("Accept-Encoding", "gzip").send(), 200, "OK", "gzip");
+    assertEquals("gzip", resp.getHeader("Content-Encoding"));
+    assertEquals("4", resp.getHeader("Content-Length"));
+    assertTrue(resp.getHeader("Content-Type").contains("javascript"));
+    assertEquals("accept-encoding", resp.getHeader("Vary"));
+
+    resp = testRequest(webClient.get("/app.js").putHeader("Accept-Encoding", "gzip;q=0.5, br").send(), 200, "OK", "brotli");
+    assertEquals("br", resp.getHeader("Content-Encoding"));
+
+    resp = testRequest(webClient.get("/app.js").putHeader("Accept-Encoding", "*, br;q=0").send(), 200, "OK", "gzip");
+    assertEquals("gzip", resp.getHeader("Content-Encoding"));
+
+    resp = testRequest(webClient.get("/app.js").putHeader("Range", "bytes=1-3").putHeader("Accept-Encoding", "br").send(), 206, "Partial Content", "rot");
+    assertEquals("br", resp.getHeader("Content-Encoding"));
+    assertEquals("bytes 1-3/6", resp.getHeader("Content-Range"));
+
+    resp = testRequest(webClient.get("/app.js").send(), 200, "OK", "identity");
+    assertNull(resp.getHeader("Content-Encoding"));
+    assertEquals("accept-encoding", resp.getHeader("Vary"));
+  }
+
+  @Test
+  public void testServePrecompressedMissingVariant() throws Exception {
+    Files.writeString(webRootTarget.resolve("app.css"), "identity");
+    Files.writeString(webRootTarget.resolve("app.css.gz"), "gzip");
+    stat.setServePrecompressed(true);
+
+    // the missing variant is cached as such
+    for (int i = 0; i < 2; i++) {
+      HttpResponse<Buffer> resp = testRequest(webClient.get("/app.css").putHeader("Accept-Encoding", "br, gzip").send(), 200, "OK", "gzip");
+      assertEquals("gzip", resp.getHeader("Content-Encoding"));
+    }
+    HttpResponse<Buffer> resp = testRequest(webClient.get("/app.css").putHeader("Accept-Encoding", "br").send(), 200, "OK", "identity");
+    assertNull(resp.getHeader("Content-Encoding"));
+  }
+
+  @Test
+  public void testSharedCache() throws Exception {
+    stat.setSharedCache(true);
+    testRequest(HttpMethod.GET, "/otherpage.html", 200, "OK", "<html><body>Other page</body></html>");
+    // another handler of the same web root
+    StaticHandler other = StaticHandler.create(webRootTarget.getFileName().toString()).setSharedCache(true);
+    router.clear();
+    router.route().handler(other);
+    testRequest(HttpMethod.GET, "/otherpage.html", 200, "OK", "<html><body>Other page</body></html>");
+    JsonObject stats = other.getCacheStatistics();
+    assertEquals(1, stats.getLong("hits"));
+    assertEquals(stats, stat.getCacheStatistics());
+  }
+
+  @Test
+  public void testSharedCacheOtherVertx() throws Exception {
+    stat.setSharedCache(true);
+    testRequest(HttpMethod.GET, "/otherpage.html", 200, "OK", "<html><body>Other page</body></html>");
+    // a handler of the same web root in another Vert.x instance does not use the cache of this instance
+    Vertx otherVertx = Vertx.vertx();
+    try {
+      StaticHandler other = StaticHandler.create(webRootTarget.getFileName().toString()).setSharedCache(true);
+      Router otherRouter = Router.router(otherVertx);
+      otherRouter.route().handler(other);
+      HttpServer otherServer = otherVertx.createHttpServer().requestHandler(otherRouter).listen(8081, "localhost").await();
+      assertEquals(200, webClient.get(8081, "localhost", "/otherpage.html").send().await().statusCode());
+      JsonObject stats = other.getCacheStatistics();
+      assertEquals(0, stats.getLong("hits"));
+      assertEquals(1, stats.getLong("misses"));
+      otherServer.close().await();
+    } finally {
+      otherVertx.close().await();
+    }
+  }
+
+  @Test
+  public void testWatchFileChanges() throws Exception {
+    testWatchFileChanges(webRootTarget.toString());
+  }
+
+  @Test
+  public void testWatchFileChangesWebRootTrailingSeparator() throws Exception {
+    testWatchFileChanges(webRootTarget.toString() + File.separator);
+  }
+
+  private void testWatchFileChanges(String webRoot) throws Exception {
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.ROOT, webRoot)
+      .setFilesReadOnly(false)
+      .setCacheEntryTimeout(3600 * 1000)
+      .setWatchFileChanges(true);
+    router.route().handler(stat);
+
+    Path file = webRootTarget.resolve("watched.html");
+    Files.writeString(file, "before");
+    testRequest(HttpMethod.GET, "/watched.html", 200, "OK", "before");
+    testRequest(HttpMethod.GET, "/missing.html", 404, "Not Found");
+    Files.writeString(webRootTarget.resolve("missing.html"), "created");
+    Files.writeString(file, "after the change");
+
+    // the entries are evicted once the changes are notified
+    long deadline = System.currentTimeMillis() + 20_000;
+    String body;
+    do {
+      Thread.sleep(50);
+      body = testRequest(webClient.get("/watched.html").send(), 200, "OK").bodyAsString();
+    } while (!body.equals("after the change") && System.currentTimeMillis() < deadline);
+    assertEquals("after the change", body);
+    testRequest(HttpMethod.GET, "/missing.html", 200, "OK", "created");
+  }
+
+  @Test
+  public void testWatchFileChangesStopsOnClose() throws Exception {
+    Path watched = Files.createDirectories(webRootTarget.resolve("watched-" + TestUtils.randomAlphaString(8)));
+    Files.writeString(watched.resolve("index.html"), "watched");
+    String threadName = "vertx-web-file-watcher-" + watched.getFileName();
+    Vertx otherVertx = Vertx.vertx();
+    Router otherRouter = Router.router(otherVertx);
+    otherRouter.route().handler(StaticHandler.create(FileSystemAccess.ROOT, watched.toString()).setWatchFileChanges(true));
+    otherVertx.createHttpServer().requestHandler(otherRouter).listen(8081, "localhost").await();
+    assertEquals("watched", webClient.get(8081, "localhost", "/index.html").send().await().bodyAsString());
+    // the directory is registered on a worker thread
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (Thread.getAllStackTraces().keySet().stream().noneMatch(t -> t.getName().equals(threadName))) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+    otherVertx.close().await();
+    // the watcher stops with the Vert.x instance
+    deadline = System.currentTimeMillis() + 5_000;
+    while (Thread.getAllStackTraces().keySet().stream().anyMatch(t -> t.getName().equals(threadName))) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  public void testWatchFileChangesServesDuringRegistration() throws Exception {
+    Path watched = Files.createDirectories(webRootTarget.resolve("watched-" + TestUtils.randomAlphaString(8)));
+    Files.writeString(watched.resolve("index.html"), "watched");
+    String threadName = "vertx-web-file-watcher-" + watched.getFileName();
+    // the only worker thread is busy, the registration of the directory cannot start
+    Vertx otherVertx = Vertx.vertx(new VertxOptions().setWorkerPoolSize(1));
+    CountDownLatch blocked = new CountDownLatch(1);
+    try {
+      otherVertx.executeBlocking(() -> {
+        blocked.await();
+        return null;
+      });
+      Router otherRouter = Router.router(otherVertx);
+      otherRouter.route().handler(StaticHandler.create(FileSystemAccess.ROOT, watched.toString()).setWatchFileChanges(true));
+      otherVertx.createHttpServer().requestHandler(otherRouter).listen(8081, "localhost").await();
+      assertEquals("watched", webClient.get(8081, "localhost", "/index.html").send().await().bodyAsString());
+      assertTrue(Thread.getAllStackTraces().keySet().stream().noneMatch(t -> t.getName().equals(threadName)));
+      blocked.countDown();
+      // the directory is watched once the registration completes
+      long deadline = System.currentTimeMillis() + 5_000;
+      while (Thread.getAllStackTraces().keySet().stream().noneMatch(t -> t.getName().equals(threadName))) {
+        assertTrue(System.currentTimeMillis() < deadline);
+        Thread.sleep(10);
+      }
+    } finally {
+      blocked.countDown();
+      otherVertx.close().await();
+    }
+  }
+
   @Test
   public void testCacheFilesNotReadOnly() throws Exception {
     router.clear();
@@ -703,6 +1163,39 @@ public class StaticHandlerTest extends WebTestBase {
     }
   }
 
+  @Test
+  public void testDirectoryListingPagination() throws Exception {
+    stat.setDirectoryListing(true);
+    testRequest(webClient.get("/somedir2/?offset=1&limit=1").putHeader("accept", "application/json").send(), 200, "OK", "[\"somepage.html\"]");
+    testRequest(webClient.get("/somedir2/?offset=1").send(), 200, "OK", "somepage.html\nsomepage2.html\n");
+    testRequest(webClient.get("/somedir2/?offset=5").putHeader("accept", "application/json").send(), 200, "OK", "[]");
+    testRequest(webClient.get("/somedir2/?limit=-1").send(), 400, "Bad Request");
+    testRequest(webClient.get("/somedir2/?offset=abc").send(), 400, "Bad Request");
+  }
+
+  @Test
+  public void testDirectoryListingLarge() throws Exception {
+    router.clear();
+    stat = StaticHandler.create(FileSystemAccess.ROOT, webRootTarget.toString())
+      .setDirectoryListing(true);
+    router.route().handler(stat);
+
+    Path dir = Files.createDirectory(webRootTarget.resolve("large"));
+    for (int i = 0; i < 2500; i++) {
+      Files.createFile(dir.resolve(String.format("file%04d", i)));
+    }
+    Files.setLastModifiedTime(dir, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+    // rendered in chunks
+    JsonArray arr = new JsonArray(testRequest(webClient.get("/large/?offset=100&limit=2100").putHeader("accept", "application/json").send(), 200, "OK").body());
+    assertEquals(2100, arr.size());
+    assertEquals("file0100", arr.getString(0));
+    assertEquals("file2199", arr.getString(2099));
+    // a new file changes the last modified time of the directory
+    assertEquals(2500, new JsonArray(testRequest(webClient.get("/large/").putHeader("accept", "application/json").send(), 200, "OK").body()).size());
+    Files.createFile(dir.resolve("file2500"));
+    assertEquals(2501, new JsonArray(testRequest(webClient.get("/large/").putHeader("accept", "application/json").send(), 200, "OK").body()).size());
+  }
+
   @Test
   public void testDirectoryListingHtml() throws Exception {
     stat.setDirectoryListing(true);